@@ -2,6 +2,7 @@ import functions.*;
 import functions.basic.Cos;
 import functions.basic.Exp;
 import functions.basic.Log;
+import java.io.OutputStreamWriter;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import threads.*;
@@ -13,14 +14,25 @@ public class Main {
         double theoreticalValue = Math.exp(1) - 1;
 
         System.out.println("Теоретическое значение интеграла e^x на [0, 1]: " + theoreticalValue);
+        System.out.println("По первообразной: " + Functions.integrateExact(exp, 0, 1));
         System.out.println();
 
+        // integrate взял бы первообразную и не зависел бы от шага, поэтому здесь численно.
         for (double step = 0.1; step >= 0.0001; step /= 10) {
-            double result = Functions.integrate(exp, 0, 1, step);
+            double result = Functions.integrateNumeric(exp, 0, 1, step);
             double error = Math.abs(result - theoreticalValue);
             System.out.printf("Шаг: %.4f, Результат: %.10f, Ошибка: %.2e%n",
                     step, result, error);
         }
+
+        IntegrationResult adaptive = Functions.integrateAdaptive(exp, 0, 1, 1e-12, 1e-12, 10000);
+        System.out.printf("Адаптивно: %.10f, Ошибка: %.2e, Оценка: %.2e, Вычислений: %d%n",
+                adaptive.getValue(), Math.abs(adaptive.getValue() - theoreticalValue),
+                adaptive.getErrorEstimate(), adaptive.getEvaluations());
+
+        // Далёкий отрицательный предел: e^-1000 даёт 0, результат не должен стать NaN.
+        System.out.println("e^x на [-1000, 0]: " + Functions.integrate(exp, -1000, 0, 0.01)
+                + ", на [-800, 1]: " + Functions.integrate(exp, -800, 1, 0.01));
     }
 
     private static void nonThread() {
@@ -73,32 +85,149 @@ public class Main {
     }
 
     private static void complicatedThreads() {
-        Task task = new Task();
-        task.setTasksCount(100);
+        AsyncResultSink sink = new AsyncResultSink(new OutputStreamWriter(System.out), 1024, false);
+        IntegrationPipeline pipeline = new IntegrationPipeline(100, Runtime.getRuntime().availableProcessors());
+        pipeline.setOrdered(true);
+        pipeline.setResultConsumer(result -> {
+            IntegrationTask task = result.getTask();
+            sink.result(task.getLeftX(), task.getRightX(), task.getStep(), result.getResult());
+        });
 
-        Semaphore semaphore = new Semaphore();
+        pipeline.start();
 
-        Generator generator = new Generator(task, semaphore);
-        Integrator integrator = new Integrator(task, semaphore);
+        try {
+            Thread.sleep(50);
+            pipeline.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
 
-        generator.setPriority(Thread.MIN_PRIORITY);
-        integrator.setPriority(Thread.MAX_PRIORITY);
+        System.out.println("Конвейер остановлен, обработано задач: " + pipeline.getProcessed());
+    }
 
-        generator.start();
-        integrator.start();
+    private static void queuedThreads() {
+        int tasksCount = 1_000_000;
+        TaskQueue<IntegrationTask> queue = new SpscTaskQueue<>(1024);
 
-        try {
-            Thread.sleep(50);
-            generator.interrupt();
-            integrator.interrupt();
+        QueueGenerator generator = new QueueGenerator(queue, tasksCount, new RandomTaskGenerator(42));
+        QueueIntegrator integrator = new QueueIntegrator(queue);
+        Thread generatorThread = new Thread(generator, "Generator");
+        Thread integratorThread = new Thread(integrator, "Integrator");
 
-            generator.join();
-            integrator.join();
+        long start = System.nanoTime();
+        generatorThread.start();
+        integratorThread.start();
+
+        try {
+            generatorThread.join();
+            queue.close();
+            integratorThread.join();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
 
-        System.out.println("Оба потока завершили работу (прерваны)");
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long expectedSum = (long) tasksCount * (tasksCount - 1) / 2;
+        System.out.printf("Обработано задач: %d из %d, %.0f задач/с%n",
+                integrator.getProcessed(), tasksCount, integrator.getProcessed() / seconds);
+        System.out.println(integrator.getProcessed() == tasksCount && integrator.getIdSum() == expectedSum
+                ? "Каждая задача обработана ровно один раз"
+                : "Задачи потеряны или обработаны повторно");
+        if (PipelineMetrics.ENABLED) {
+            System.out.println(PipelineMetrics.get().snapshot());
+        }
+    }
+
+    private interface Lock {
+        void acquire() throws InterruptedException;
+
+        void release();
+    }
+
+    // Прежний Semaphore на wait/notifyAll - оставлен для сравнения в semaphoreBenchmark.
+    private static final class MonitorSemaphore implements Lock {
+        private boolean available = true;
+
+        public synchronized void acquire() throws InterruptedException {
+            while (!available) {
+                wait();
+            }
+            available = false;
+        }
+
+        public synchronized void release() {
+            available = true;
+            notifyAll();
+        }
+    }
+
+    // Среднее время пары acquire/release в наносекундах при threadsCount конкурирующих потоках.
+    private static long contention(Lock lock, int threadsCount, int operations) throws InterruptedException {
+        Thread[] threads = new Thread[threadsCount];
+        long start = System.nanoTime();
+        for (int t = 0; t < threadsCount; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < operations; i++) {
+                        lock.acquire();
+                        lock.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return (System.nanoTime() - start) / ((long) threadsCount * operations);
+    }
+
+    private static void semaphoreBenchmark() {
+        try {
+            for (int threadsCount = 1; threadsCount <= 16; threadsCount *= 2) {
+                int operations = 400_000 / threadsCount;
+                Semaphore semaphore = new Semaphore();
+                Semaphore fair = new Semaphore(1, true);
+                java.util.concurrent.Semaphore standard = new java.util.concurrent.Semaphore(1);
+
+                long monitor = contention(new MonitorSemaphore(), threadsCount, operations / 10);
+                long own = contention(new Lock() {
+                    public void acquire() throws InterruptedException {
+                        semaphore.acquire();
+                    }
+
+                    public void release() {
+                        semaphore.release();
+                    }
+                }, threadsCount, operations);
+                long ownFair = contention(new Lock() {
+                    public void acquire() throws InterruptedException {
+                        fair.acquire();
+                    }
+
+                    public void release() {
+                        fair.release();
+                    }
+                }, threadsCount, operations / 10);
+                long jdk = contention(new Lock() {
+                    public void acquire() throws InterruptedException {
+                        standard.acquire();
+                    }
+
+                    public void release() {
+                        standard.release();
+                    }
+                }, threadsCount, operations);
+
+                System.out.printf("Потоков: %2d, старый Semaphore: %d нс, Semaphore: %d нс, честный: %d нс, "
+                        + "java.util.concurrent: %d нс%n", threadsCount, monitor, own, ownFair, jdk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     private static void testIterators() {
@@ -154,7 +283,12 @@ public class Main {
         TabulatedFunctions.setTabulatedFunctionFactory(
                 new ArrayTabulatedFunction.ArrayTabulatedFunctionFactory());
         tf = TabulatedFunctions.tabulate(f, 0, Math.PI, 11);
-        System.out.println("После возврата Array фабрики, класс: " + tf.getClass().getName());
+        System.out.println("После установки Array фабрики, класс: " + tf.getClass().getName());
+
+        TabulatedFunctions.setTabulatedFunctionFactory(
+                new UniformTabulatedFunction.UniformTabulatedFunctionFactory());
+        tf = TabulatedFunctions.tabulate(f, 0, Math.PI, 11);
+        System.out.println("После возврата фабрики по умолчанию, класс: " + tf.getClass().getName());
     }
 
     private static void testReflection() {
@@ -201,6 +335,12 @@ public class Main {
 //
 //        System.out.println("\nЗадание 4 с семафором");
 //        complicatedThreads();
+//
+//        System.out.println("\nЗадание 5 очередь задач");
+//        queuedThreads();
+
+//        System.out.println("\nСемафоры под нагрузкой");
+//        semaphoreBenchmark();
 
         System.out.println("\nИтераторы");
         testIterators();
@@ -0,0 +1,45 @@
+package functions;
+
+// Общая часть построителей: проверка порядка x, счётчик точек и однократный build.
+abstract class AbstractTabulatedFunctionBuilder implements TabulatedFunctionBuilder {
+
+    private double lastX;
+    private int pointsCount;
+    private boolean built;
+
+    @Override
+    public final void accept(double x, double y) {
+        if (built) {
+            throw new IllegalStateException("Функция уже построена");
+        }
+        if (pointsCount > 0 && !(x > lastX)) {
+            throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию x");
+        }
+
+        append(pointsCount, x, y);
+        lastX = x;
+        pointsCount++;
+    }
+
+    @Override
+    public final int getPointsCount() {
+        return pointsCount;
+    }
+
+    @Override
+    public final TabulatedFunction build() {
+        if (built) {
+            throw new IllegalStateException("Функция уже построена");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Должно быть не меньше двух точек");
+        }
+
+        built = true;
+        return finish(pointsCount);
+    }
+
+    abstract void append(int index, double x, double y);
+
+    abstract TabulatedFunction finish(int pointsCount);
+}
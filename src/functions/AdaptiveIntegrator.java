@@ -0,0 +1,147 @@
+package functions;
+
+import java.util.PriorityQueue;
+
+// Глобально-адаптивная квадратура Гаусса-Кронрода G7-K15: на каждом шаге делится
+// пополам отрезок с наибольшей оценкой погрешности |K15 - G7|.
+final class AdaptiveIntegrator {
+
+    static final int RULE_POINTS = 15;
+
+    private static final double[] KRONROD_NODES = {
+            0.991455371120812639206854697526329,
+            0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926,
+            0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013,
+            0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245,
+            0.000000000000000000000000000000000
+    };
+
+    private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970,
+            0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518,
+            0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550,
+            0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649,
+            0.209482141084727828012999174891714
+    };
+
+    // Веса Гаусса для узлов KRONROD_NODES[1], [3], [5], [7].
+    private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082,
+            0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975,
+            0.417959183673469387755102040816327
+    };
+
+    private final Function f;
+    private final double[] xs = new double[RULE_POINTS];
+    private final double[] ys = new double[RULE_POINTS];
+
+    private AdaptiveIntegrator(Function f) {
+        this.f = f;
+    }
+
+    private static final class Segment implements Comparable<Segment> {
+
+        final double a;
+        final double b;
+        final double value;
+        final double error;
+
+        Segment(double a, double b, double value, double error) {
+            this.a = a;
+            this.b = b;
+            this.value = value;
+            this.error = error;
+        }
+
+        @Override
+        public int compareTo(Segment other) {
+            return Double.compare(other.error, error);
+        }
+    }
+
+    static IntegrationResult integrate(Function f, double leftX, double rightX,
+                                       double absTolerance, double relTolerance, int maxEvaluations) {
+        if (!(absTolerance >= 0.0) || !(relTolerance >= 0.0)) {
+            throw new IllegalArgumentException("Допуски должны быть неотрицательными");
+        }
+        if (maxEvaluations < RULE_POINTS) {
+            throw new IllegalArgumentException("Нужно не меньше " + RULE_POINTS + " вычислений функции");
+        }
+        if (!(leftX < rightX)) {
+            return new IntegrationResult(0.0, 0.0, 0, true);
+        }
+
+        AdaptiveIntegrator integrator = new AdaptiveIntegrator(f);
+        PriorityQueue<Segment> segments = new PriorityQueue<>();
+        Segment whole = integrator.rule(leftX, rightX);
+        segments.add(whole);
+
+        int evaluations = RULE_POINTS;
+        double value = whole.value;
+        double error = whole.error;
+
+        while (!(error <= Math.max(absTolerance, relTolerance * Math.abs(value)))
+                && evaluations + 2 * RULE_POINTS <= maxEvaluations) {
+            Segment worst = segments.peek();
+            double mid = 0.5 * (worst.a + worst.b);
+            if (!(worst.a < mid && mid < worst.b)) {
+                break;
+            }
+
+            segments.poll();
+            Segment left = integrator.rule(worst.a, mid);
+            Segment right = integrator.rule(mid, worst.b);
+            segments.add(left);
+            segments.add(right);
+            evaluations += 2 * RULE_POINTS;
+
+            value += left.value + right.value - worst.value;
+            error += left.error + right.error - worst.error;
+        }
+
+        // Пересчёт сумм заново, чтобы не накапливать ошибку округления от вычитаний.
+        value = 0.0;
+        error = 0.0;
+        for (Segment segment : segments) {
+            value += segment.value;
+            error += segment.error;
+        }
+
+        boolean converged = error <= Math.max(absTolerance, relTolerance * Math.abs(value));
+        return new IntegrationResult(value, error, evaluations, converged);
+    }
+
+    private Segment rule(double a, double b) {
+        double center = 0.5 * (a + b);
+        double halfLength = 0.5 * (b - a);
+
+        for (int j = 0; j < 7; j++) {
+            double dx = halfLength * KRONROD_NODES[j];
+            xs[2 * j] = center - dx;
+            xs[2 * j + 1] = center + dx;
+        }
+        xs[14] = center;
+        f.evaluate(xs, ys, 0, RULE_POINTS);
+
+        double kronrod = KRONROD_WEIGHTS[7] * ys[14];
+        double gauss = GAUSS_WEIGHTS[3] * ys[14];
+        for (int j = 0; j < 7; j++) {
+            double pair = ys[2 * j] + ys[2 * j + 1];
+            kronrod += KRONROD_WEIGHTS[j] * pair;
+            if ((j & 1) == 1) {
+                gauss += GAUSS_WEIGHTS[j >> 1] * pair;
+            }
+        }
+
+        kronrod *= halfLength;
+        gauss *= halfLength;
+        return new Segment(a, b, kronrod, Math.abs(kronrod - gauss));
+    }
+}
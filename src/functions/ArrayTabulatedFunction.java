@@ -1,14 +1,17 @@
 package functions;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 
-public class ArrayTabulatedFunction implements TabulatedFunction, Serializable, Cloneable {
+public class ArrayTabulatedFunction implements TabulatedFunction, Integrable, Serializable, Cloneable {
 
     private FunctionPoint[] points;
     private int pointsCount;
+    private transient int lastSegment;
+    private transient volatile double[] prefix;
 
     public ArrayTabulatedFunction(double leftX,
                                   double rightX,
@@ -67,6 +70,11 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
         }
     }
 
+    private ArrayTabulatedFunction(FunctionPoint[] points, int pointsCount) {
+        this.points = points;
+        this.pointsCount = pointsCount;
+    }
+
     public double getLeftDomainBorder() {
         return points[0].getX();
     }
@@ -80,25 +88,112 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
             return Double.NaN;
         }
 
-        for (int i = 0; i < pointsCount; i++) {
-            if (points[i].getX() == x) {
-                return points[i].getY();
-            }
-        }
-
-        int i = 0;
-        while (!(points[i].getX() < x && x < points[i + 1].getX())) {
-            i++;
-        }
+        return valueInSegment(findSegment(x), x);
+    }
 
+    private double valueInSegment(int i, double x) {
         double x1 = points[i].getX();
         double y1 = points[i].getY();
         double x2 = points[i + 1].getX();
         double y2 = points[i + 1].getY();
 
+        if (x == x1) {
+            return y1;
+        }
+        if (x == x2) {
+            return y2;
+        }
+
         return y1 + (x - x1) * (y2 - y1) / (x2 - x1);
     }
 
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        int segment = -1;
+
+        for (int k = from; k < to; k++) {
+            double x = xs[k];
+            if (x < left || x > right) {
+                out[k] = Double.NaN;
+                continue;
+            }
+
+            if (segment < 0 || x < points[segment].getX()
+                    || x > points[Math.min(segment + 8, pointsCount - 1)].getX()) {
+                segment = findSegment(x);
+            } else {
+                while (segment < pointsCount - 2 && x > points[segment + 1].getX()) {
+                    segment++;
+                }
+            }
+
+            out[k] = valueInSegment(segment, x);
+        }
+    }
+
+    private int findSegment(double x) {
+        int hint = lastSegment;
+        if (hint < pointsCount - 1 && points[hint].getX() <= x) {
+            if (x <= points[hint + 1].getX()) {
+                return hint;
+            }
+            if (hint + 2 < pointsCount && x <= points[hint + 2].getX()) {
+                lastSegment = hint + 1;
+                return hint + 1;
+            }
+        }
+
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (points[mid].getX() <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        lastSegment = low;
+        return low;
+    }
+
+    @Override
+    public double integrate(double leftX, double rightX) {
+        if (leftX > rightX) {
+            return -integrate(rightX, leftX);
+        }
+        if (leftX < getLeftDomainBorder() || rightX > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        double[] prefix = prefixIntegrals();
+        int i = findSegment(leftX);
+        int j = findSegment(rightX);
+        return (prefix[j] - prefix[i]) + (partialIntegral(j, rightX) - partialIntegral(i, leftX));
+    }
+
+    // prefix[i] - интеграл от первой точки до i-й; сбрасывается при любом изменении точек.
+    private double[] prefixIntegrals() {
+        double[] prefix = this.prefix;
+        if (prefix == null) {
+            prefix = new double[pointsCount];
+            for (int i = 1; i < pointsCount; i++) {
+                FunctionPoint p1 = points[i - 1];
+                FunctionPoint p2 = points[i];
+                prefix[i] = prefix[i - 1] + (p1.getY() + p2.getY()) / 2.0 * (p2.getX() - p1.getX());
+            }
+            this.prefix = prefix;
+        }
+        return prefix;
+    }
+
+    private double partialIntegral(int i, double x) {
+        return (points[i].getY() + valueInSegment(i, x)) / 2.0 * (x - points[i].getX());
+    }
+
     public int getPointsCount() {
         return pointsCount;
     }
@@ -116,6 +211,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
 
     public void setPoint(int index,
                          FunctionPoint point) throws InappropriateFunctionPointException {
+        prefix = null;
         checkIndex(index);
         double newX = point.getX();
 
@@ -142,6 +238,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
     }
 
     public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        prefix = null;
         checkIndex(index);
 
         if (index > 0) {
@@ -167,11 +264,13 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
     }
 
     public void setPointY(int index, double y) {
+        prefix = null;
         checkIndex(index);
         points[index].setY(y);
     }
 
     public void deletePoint(int index) {
+        prefix = null;
         if (pointsCount < 3) {
             throw new IllegalStateException("Нельзя удалять точку: точек меньше трёх");
         }
@@ -191,6 +290,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
     }
 
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        prefix = null;
         double x = point.getX();
 
         for (int i = 0; i < pointsCount; i++) {
@@ -328,5 +428,29 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
         public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
             return new ArrayTabulatedFunction(points);
         }
+
+        // Массив обрезается до числа точек: в заполненный массив addPoint точку не добавляет.
+        @Override
+        public TabulatedFunctionBuilder createTabulatedFunctionBuilder(int expectedPointsCount) {
+            return new AbstractTabulatedFunctionBuilder() {
+                private FunctionPoint[] points = new FunctionPoint[Math.max(expectedPointsCount, 2)];
+
+                @Override
+                void append(int index, double x, double y) {
+                    if (index == points.length) {
+                        points = Arrays.copyOf(points, index + (index >> 1) + 1);
+                    }
+                    points[index] = new FunctionPoint(x, y);
+                }
+
+                @Override
+                TabulatedFunction finish(int pointsCount) {
+                    if (pointsCount < points.length) {
+                        points = Arrays.copyOf(points, pointsCount);
+                    }
+                    return new ArrayTabulatedFunction(points, pointsCount);
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,24 @@
+package functions;
+
+interface BatchKernels {
+
+    void exp(double[] xs, double[] out, int from, int to);
+
+    void log(double[] xs, double[] out, int from, int to, double logBase);
+
+    void sin(double[] xs, double[] out, int from, int to);
+
+    void cos(double[] xs, double[] out, int from, int to);
+
+    void tan(double[] xs, double[] out, int from, int to);
+
+    void add(double[] a, int aFrom, double[] b, int bFrom, int length);
+
+    void mul(double[] a, int aFrom, double[] b, int bFrom, int length);
+
+    void addScalar(double[] xs, double[] out, int from, int to, double c);
+
+    void mulScalar(double[] xs, double[] out, int from, int to, double c);
+
+    void divScalar(double[] xs, double[] out, int from, int to, double c);
+}
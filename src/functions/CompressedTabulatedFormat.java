@@ -0,0 +1,362 @@
+package functions;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+// Сжатый двоичный формат табулированной функции, версия 1.
+//
+// Заголовок: MAGIC, VERSION, число точек, число точек в блоке.
+// Дальше блоки: число точек и длина в байтах, затем битовый поток блока.
+// Каждый блок декодируется сам по себе, без предыдущих.
+//
+// x в блоке: либо UNIFORM - origin + step * k для глобального номера k,
+// либо DELTA - первое значение целиком, дальше разности разностей битов (zigzag).
+// y: XOR с линейным прогнозом по двум предыдущим значениям, как в Gorilla:
+// нулевой XOR - один бит, иначе значащие биты в старом или новом окне.
+final class CompressedTabulatedFormat {
+
+    static final int MAGIC = 0x5441425A;
+    static final int VERSION = 1;
+    static final int BLOCK_POINTS = 1 << 12;
+
+    private static final int X_UNIFORM = 0;
+    private static final int X_DELTA = 1;
+
+    private CompressedTabulatedFormat() {
+    }
+
+    static void write(TabulatedFunction function, OutputStream out) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(out);
+
+        int n = function.getPointsCount();
+        dataOut.writeInt(MAGIC);
+        dataOut.writeByte(VERSION);
+        dataOut.writeInt(n);
+        dataOut.writeInt(BLOCK_POINTS);
+
+        // Кандидаты на шаг равномерной сетки: как в конструкторах по границам и по первым двум точкам.
+        double origin = function.getPointX(0);
+        double[] steps = {
+                (function.getPointX(n - 1) - origin) / (n - 1),
+                function.getPointX(1) - origin
+        };
+
+        double[] xs = new double[BLOCK_POINTS];
+        double[] ys = new double[BLOCK_POINTS];
+        BitOutput bits = new BitOutput();
+
+        for (int first = 0; first < n; first += BLOCK_POINTS) {
+            int count = Math.min(BLOCK_POINTS, n - first);
+            for (int i = 0; i < count; i++) {
+                xs[i] = function.getPointX(first + i);
+                ys[i] = function.getPointY(first + i);
+            }
+
+            bits.reset();
+            double step = uniformStep(xs, count, first, origin, steps);
+            if (step == step) {
+                bits.write(X_UNIFORM, 8);
+                bits.write(Double.doubleToRawLongBits(origin), 64);
+                bits.write(Double.doubleToRawLongBits(step), 64);
+                bits.write(first, 32);
+            } else {
+                bits.write(X_DELTA, 8);
+                encodeDeltas(xs, count, bits);
+            }
+            encodeValues(ys, count, bits);
+            bits.finish();
+
+            dataOut.writeInt(count);
+            dataOut.writeInt(bits.length());
+            dataOut.write(bits.bytes(), 0, bits.length());
+        }
+
+        dataOut.flush();
+    }
+
+    // Шаг, при котором все x блока побитово равны origin + step * k, иначе NaN.
+    // Сравнение по битам, а не ==: иначе -0.0 закодируется как UNIFORM и прочтётся как 0.0.
+    private static double uniformStep(double[] xs, int count, int first, double origin, double[] steps) {
+        for (double step : steps) {
+            int i = 0;
+            while (i < count && Double.doubleToRawLongBits(xs[i])
+                    == Double.doubleToRawLongBits(origin + step * (first + i))) {
+                i++;
+            }
+            if (i == count) {
+                return step;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static long sortable(long bits) {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static void encodeDeltas(double[] xs, int count, BitOutput bits) {
+        long previous = sortable(Double.doubleToRawLongBits(xs[0]));
+        long delta = 0;
+        bits.write(previous, 64);
+
+        for (int i = 1; i < count; i++) {
+            long current = sortable(Double.doubleToRawLongBits(xs[i]));
+            long next = current - previous;
+            long zigzag = ((next - delta) << 1) ^ ((next - delta) >> 63);
+            if (zigzag == 0) {
+                bits.write(0, 1);
+            } else {
+                int length = 64 - Long.numberOfLeadingZeros(zigzag);
+                bits.write(1, 1);
+                bits.write(length - 1, 6);
+                bits.write(zigzag, length);
+            }
+            delta = next;
+            previous = current;
+        }
+    }
+
+    private static void encodeValues(double[] ys, int count, BitOutput bits) {
+        bits.write(Double.doubleToRawLongBits(ys[0]), 64);
+        int leading = -1;
+        int trailing = 0;
+
+        for (int i = 1; i < count; i++) {
+            long xor = Double.doubleToRawLongBits(ys[i]) ^ Double.doubleToRawLongBits(predict(ys, i));
+            if (xor == 0) {
+                bits.write(0, 1);
+                continue;
+            }
+
+            int lz = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int tz = Long.numberOfTrailingZeros(xor);
+            if (leading >= 0 && lz >= leading && tz >= trailing) {
+                bits.write(0b10, 2);
+                bits.write(xor >>> trailing, 64 - leading - trailing);
+            } else {
+                leading = lz;
+                trailing = tz;
+                int length = 64 - lz - tz;
+                bits.write(0b11, 2);
+                bits.write(lz, 5);
+                bits.write(length - 1, 6);
+                bits.write(xor >>> tz, length);
+            }
+        }
+    }
+
+    private static double predict(double[] ys, int i) {
+        return i < 2 ? ys[i - 1] : predict(ys[i - 1], ys[i - 2]);
+    }
+
+    // Биты NaN после арифметики зависят от процессора, поэтому вне конечных значений
+    // прогноз - просто предыдущее значение, скопированное без вычислений.
+    private static double predict(double last, double beforeLast) {
+        double prediction = 2 * last - beforeLast;
+        return Double.isFinite(prediction) ? prediction : last;
+    }
+
+    // Потоковое чтение: заголовок, затем блоки по одному в переданные массивы.
+    static final class Decoder {
+
+        private final DataInputStream in;
+        private final int pointsCount;
+        private final int blockPoints;
+        private int remaining;
+        private byte[] block = new byte[0];
+
+        Decoder(InputStream in) throws IOException {
+            this.in = new DataInputStream(in);
+
+            if (this.in.readInt() != MAGIC) {
+                throw new IOException("Поток не содержит табулированную функцию в сжатом формате");
+            }
+            int version = this.in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Неподдерживаемая версия сжатого формата: " + version);
+            }
+
+            pointsCount = this.in.readInt();
+            blockPoints = this.in.readInt();
+            if (pointsCount < 0 || blockPoints < 1) {
+                throw new IOException("Повреждён заголовок сжатого формата");
+            }
+            remaining = pointsCount;
+        }
+
+        int getPointsCount() {
+            return pointsCount;
+        }
+
+        int getBlockPoints() {
+            return blockPoints;
+        }
+
+        // Декодирует следующий блок в xs/ys с позиции offset; возвращает число точек, -1 после последнего.
+        int readBlock(double[] xs, double[] ys, int offset) throws IOException {
+            if (remaining == 0) {
+                return -1;
+            }
+
+            int count = in.readInt();
+            int length = in.readInt();
+            if (count < 1 || count > blockPoints || count > remaining || length < 0) {
+                throw new IOException("Повреждён блок сжатого формата");
+            }
+            if (block.length < length) {
+                block = new byte[Math.max(length, 2 * block.length)];
+            }
+            in.readFully(block, 0, length);
+
+            BitInput bits = new BitInput(block, length);
+            int encoding = (int) bits.read(8);
+            if (encoding == X_UNIFORM) {
+                double origin = Double.longBitsToDouble(bits.read(64));
+                double step = Double.longBitsToDouble(bits.read(64));
+                int first = (int) bits.read(32);
+                for (int i = 0; i < count; i++) {
+                    xs[offset + i] = origin + step * (first + i);
+                }
+            } else if (encoding == X_DELTA) {
+                decodeDeltas(bits, xs, offset, count);
+            } else {
+                throw new IOException("Неизвестная кодировка x в блоке: " + encoding);
+            }
+            decodeValues(bits, ys, offset, count);
+
+            remaining -= count;
+            return count;
+        }
+
+        private static void decodeDeltas(BitInput bits, double[] xs, int offset, int count) throws IOException {
+            long previous = bits.read(64);
+            long delta = 0;
+            xs[offset] = Double.longBitsToDouble(sortable(previous));
+
+            for (int i = 1; i < count; i++) {
+                long zigzag = 0;
+                if (bits.read(1) != 0) {
+                    zigzag = bits.read((int) bits.read(6) + 1);
+                }
+                delta += (zigzag >>> 1) ^ -(zigzag & 1);
+                previous += delta;
+                xs[offset + i] = Double.longBitsToDouble(sortable(previous));
+            }
+        }
+
+        private static void decodeValues(BitInput bits, double[] ys, int offset, int count) throws IOException {
+            ys[offset] = Double.longBitsToDouble(bits.read(64));
+            int leading = 0;
+            int trailing = 0;
+
+            for (int i = 1; i < count; i++) {
+                long prediction = Double.doubleToRawLongBits(predict(ys, offset, i));
+                if (bits.read(1) == 0) {
+                    ys[offset + i] = Double.longBitsToDouble(prediction);
+                    continue;
+                }
+                if (bits.read(1) != 0) {
+                    leading = (int) bits.read(5);
+                    trailing = 64 - leading - ((int) bits.read(6) + 1);
+                    if (trailing < 0) {
+                        throw new IOException("Повреждён блок сжатого формата");
+                    }
+                }
+                long xor = bits.read(64 - leading - trailing) << trailing;
+                ys[offset + i] = Double.longBitsToDouble(prediction ^ xor);
+            }
+        }
+
+        private static double predict(double[] ys, int offset, int i) {
+            return i < 2 ? ys[offset + i - 1] : CompressedTabulatedFormat.predict(ys[offset + i - 1], ys[offset + i - 2]);
+        }
+    }
+
+    // Биты пишутся от старшего к младшему; хвост последнего байта добивается нулями.
+    private static final class BitOutput {
+
+        private byte[] bytes = new byte[1 << 12];
+        private int length;
+        private long pending;
+        private int pendingBits;
+
+        void reset() {
+            length = 0;
+            pending = 0;
+            pendingBits = 0;
+        }
+
+        void write(long value, int count) {
+            if (count > 32) {
+                write(value >>> 32, count - 32);
+                count = 32;
+            }
+            if (count == 0) {
+                return;
+            }
+
+            pending = (pending << count) | (value & ((1L << count) - 1));
+            pendingBits += count;
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+            }
+            while (pendingBits >= 8) {
+                pendingBits -= 8;
+                bytes[length++] = (byte) (pending >>> pendingBits);
+            }
+        }
+
+        void finish() {
+            if (pendingBits > 0) {
+                write(0, 8 - pendingBits);
+            }
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        int length() {
+            return length;
+        }
+    }
+
+    private static final class BitInput {
+
+        private final byte[] bytes;
+        private final int length;
+        private int position;
+        private long pending;
+        private int pendingBits;
+
+        BitInput(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+
+        long read(int count) throws IOException {
+            if (count > 32) {
+                long high = read(count - 32);
+                return (high << 32) | read(32);
+            }
+            if (count == 0) {
+                return 0;
+            }
+
+            while (pendingBits < count) {
+                if (position == length) {
+                    throw new EOFException("Блок сжатого формата оборван");
+                }
+                pending = (pending << 8) | (bytes[position++] & 0xFF);
+                pendingBits += 8;
+            }
+            pendingBits -= count;
+            return (pending >>> pendingBits) & ((1L << count) - 1);
+        }
+    }
+}
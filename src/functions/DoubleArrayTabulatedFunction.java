@@ -0,0 +1,414 @@
+package functions;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+
+public class DoubleArrayTabulatedFunction implements TabulatedFunction, Integrable, Serializable, Cloneable {
+
+    private static final long serialVersionUID = 1L;
+
+    private double[] xs;
+    private double[] ys;
+    private int pointsCount;
+    private transient int lastSegment;
+    private transient volatile double[] prefix;
+
+    public DoubleArrayTabulatedFunction(double leftX,
+                                        double rightX,
+                                        int pointsCount) {
+        if (leftX >= rightX || pointsCount < 2) {
+            throw new IllegalArgumentException("Некорректные границы или количество точек");
+        }
+
+        this.pointsCount = pointsCount;
+        this.xs = new double[pointsCount];
+        this.ys = new double[pointsCount];
+
+        double step = (rightX - leftX) / (pointsCount - 1);
+
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = leftX + step * i;
+        }
+    }
+
+    public DoubleArrayTabulatedFunction(double leftX,
+                                        double rightX,
+                                        double[] values) {
+        if (leftX >= rightX || values.length < 2) {
+            throw new IllegalArgumentException("Некорректные границы или количество точек");
+        }
+
+        this.pointsCount = values.length;
+        this.xs = new double[pointsCount];
+        this.ys = values.clone();
+
+        double step = (rightX - leftX) / (pointsCount - 1);
+
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = leftX + step * i;
+        }
+    }
+
+    public DoubleArrayTabulatedFunction(FunctionPoint[] sourcePoints) {
+        if (sourcePoints.length < 2) {
+            throw new IllegalArgumentException("Должно быть не меньше двух точек");
+        }
+
+        for (int i = 1; i < sourcePoints.length; i++) {
+            if (sourcePoints[i - 1].getX() >= sourcePoints[i].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию x");
+            }
+        }
+
+        this.pointsCount = sourcePoints.length;
+        this.xs = new double[pointsCount];
+        this.ys = new double[pointsCount];
+
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = sourcePoints[i].getX();
+            ys[i] = sourcePoints[i].getY();
+        }
+    }
+
+    DoubleArrayTabulatedFunction(double[] xs, double[] ys, int pointsCount) {
+        this.xs = xs;
+        this.ys = ys;
+        this.pointsCount = pointsCount;
+    }
+
+    public double getLeftDomainBorder() {
+        return xs[0];
+    }
+
+    public double getRightDomainBorder() {
+        return xs[pointsCount - 1];
+    }
+
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        return valueInSegment(findSegment(x), x);
+    }
+
+    private double valueInSegment(int i, double x) {
+        if (x == xs[i]) {
+            return ys[i];
+        }
+        if (x == xs[i + 1]) {
+            return ys[i + 1];
+        }
+
+        return ys[i] + (x - xs[i]) * (ys[i + 1] - ys[i]) / (xs[i + 1] - xs[i]);
+    }
+
+    @Override
+    public void evaluate(double[] arguments, double[] out, int from, int to) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        int segment = -1;
+
+        for (int k = from; k < to; k++) {
+            double x = arguments[k];
+            if (x < left || x > right) {
+                out[k] = Double.NaN;
+                continue;
+            }
+
+            if (segment < 0 || x < xs[segment]
+                    || x > xs[Math.min(segment + 8, pointsCount - 1)]) {
+                segment = findSegment(x);
+            } else {
+                while (segment < pointsCount - 2 && x > xs[segment + 1]) {
+                    segment++;
+                }
+            }
+
+            out[k] = valueInSegment(segment, x);
+        }
+    }
+
+    private int findSegment(double x) {
+        int hint = lastSegment;
+        if (hint < pointsCount - 1 && xs[hint] <= x) {
+            if (x <= xs[hint + 1]) {
+                return hint;
+            }
+            if (hint + 2 < pointsCount && x <= xs[hint + 2]) {
+                lastSegment = hint + 1;
+                return hint + 1;
+            }
+        }
+
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xs[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        lastSegment = low;
+        return low;
+    }
+
+    @Override
+    public double integrate(double leftX, double rightX) {
+        if (leftX > rightX) {
+            return -integrate(rightX, leftX);
+        }
+        if (leftX < getLeftDomainBorder() || rightX > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        double[] prefix = prefixIntegrals();
+        int i = findSegment(leftX);
+        int j = findSegment(rightX);
+        return (prefix[j] - prefix[i]) + (partialIntegral(j, rightX) - partialIntegral(i, leftX));
+    }
+
+    // prefix[i] - интеграл от xs[0] до xs[i]; сбрасывается при любом изменении точек.
+    private double[] prefixIntegrals() {
+        double[] prefix = this.prefix;
+        if (prefix == null) {
+            prefix = new double[pointsCount];
+            for (int i = 1; i < pointsCount; i++) {
+                prefix[i] = prefix[i - 1] + (ys[i - 1] + ys[i]) / 2.0 * (xs[i] - xs[i - 1]);
+            }
+            this.prefix = prefix;
+        }
+        return prefix;
+    }
+
+    private double partialIntegral(int i, double x) {
+        return (ys[i] + valueInSegment(i, x)) / 2.0 * (x - xs[i]);
+    }
+
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс точки вне диапазона: " + index);
+        }
+    }
+
+    private void checkX(int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && x <= xs[index - 1]) {
+            throw new InappropriateFunctionPointException("x новой точки выходит за левый интервал");
+        }
+
+        if (index < pointsCount - 1 && x >= xs[index + 1]) {
+            throw new InappropriateFunctionPointException("x новой точки выходит за правый интервал");
+        }
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(xs[index], ys[index]);
+    }
+
+    public void setPoint(int index,
+                         FunctionPoint point) throws InappropriateFunctionPointException {
+        prefix = null;
+        checkIndex(index);
+        checkX(index, point.getX());
+
+        xs[index] = point.getX();
+        ys[index] = point.getY();
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return xs[index];
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        prefix = null;
+        checkIndex(index);
+        checkX(index, x);
+
+        xs[index] = x;
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return ys[index];
+    }
+
+    public void setPointY(int index, double y) {
+        prefix = null;
+        checkIndex(index);
+        ys[index] = y;
+    }
+
+    public void deletePoint(int index) {
+        prefix = null;
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Нельзя удалять точку: точек меньше трёх");
+        }
+
+        checkIndex(index);
+
+        if (index < pointsCount - 1) {
+            System.arraycopy(xs, index + 1, xs, index, pointsCount - index - 1);
+            System.arraycopy(ys, index + 1, ys, index, pointsCount - index - 1);
+        }
+
+        pointsCount--;
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        prefix = null;
+        double x = point.getX();
+
+        int insertIndex = Arrays.binarySearch(xs, 0, pointsCount, x);
+        if (insertIndex >= 0) {
+            throw new InappropriateFunctionPointException("Точка с таким x уже существует: " + x);
+        }
+        insertIndex = -insertIndex - 1;
+
+        if (pointsCount == xs.length) {
+            int newCapacity = pointsCount + (pointsCount >> 1) + 1;
+            xs = Arrays.copyOf(xs, newCapacity);
+            ys = Arrays.copyOf(ys, newCapacity);
+        }
+
+        if (insertIndex < pointsCount) {
+            System.arraycopy(xs, insertIndex, xs, insertIndex + 1, pointsCount - insertIndex);
+            System.arraycopy(ys, insertIndex, ys, insertIndex + 1, pointsCount - insertIndex);
+        }
+
+        xs[insertIndex] = x;
+        ys[insertIndex] = point.getY();
+        pointsCount++;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append('(').append(xs[i]).append("; ").append(ys[i]).append(')');
+            if (i != pointsCount - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction)) return false;
+        TabulatedFunction other = (TabulatedFunction) o;
+
+        if (this.getPointsCount() != other.getPointsCount()) {
+            return false;
+        }
+
+        double eps = 1e-9;
+        for (int i = 0; i < pointsCount; i++) {
+            if (!(Math.abs(xs[i] - other.getPointX(i)) < eps
+                    && Math.abs(ys[i] - other.getPointY(i)) < eps)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = pointsCount;
+        for (int i = 0; i < pointsCount; i++) {
+            long bits = Double.doubleToLongBits(xs[i]) ^ Double.doubleToLongBits(ys[i]);
+            h ^= (int) (bits ^ (bits >>> 32));
+        }
+        return h;
+    }
+
+    @Override
+    public Object clone() {
+        try {
+            DoubleArrayTabulatedFunction copy = (DoubleArrayTabulatedFunction) super.clone();
+            copy.xs = Arrays.copyOf(xs, pointsCount);
+            copy.ys = Arrays.copyOf(ys, pointsCount);
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            FunctionPoint[] points = new FunctionPoint[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                points[i] = new FunctionPoint(xs[i], ys[i]);
+            }
+            return new DoubleArrayTabulatedFunction(points);
+        }
+    }
+
+    @Override
+    public Iterator<FunctionPoint> iterator() {
+        return new Iterator<FunctionPoint>() {
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < pointsCount;
+            }
+
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Больше элементов нет");
+                }
+                FunctionPoint p = new FunctionPoint(xs[currentIndex], ys[currentIndex]);
+                currentIndex++;
+                return p;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Удаление не поддерживается");
+            }
+        };
+    }
+
+    public static class DoubleArrayTabulatedFunctionFactory implements TabulatedFunctionFactory {
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX,
+                                                         double rightX,
+                                                         int pointsCount) {
+            return new DoubleArrayTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX,
+                                                         double rightX,
+                                                         double[] values) {
+            return new DoubleArrayTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new DoubleArrayTabulatedFunction(points);
+        }
+
+        @Override
+        public TabulatedFunctionBuilder createTabulatedFunctionBuilder(int expectedPointsCount) {
+            return new PointArrayBuilder(expectedPointsCount) {
+                @Override
+                TabulatedFunction finish(double[] xs, double[] ys, int pointsCount) {
+                    return new DoubleArrayTabulatedFunction(xs, ys, pointsCount);
+                }
+            };
+        }
+    }
+}
@@ -7,4 +7,11 @@ public interface Function {
     double getRightDomainBorder();
 
     double getFunctionValue(double x);
+
+    // Вычисляет out[i] = f(xs[i]) для i из [from, to). Допускается out == xs.
+    default void evaluate(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = getFunctionValue(xs[i]);
+        }
+    }
 }
@@ -0,0 +1,182 @@
+package functions;
+
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Log;
+import functions.basic.Sin;
+import functions.basic.Tan;
+import functions.meta.Composition;
+import functions.meta.Mult;
+import functions.meta.Power;
+import functions.meta.Scale;
+import functions.meta.Shift;
+import functions.meta.Sum;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Собирает дерево functions.basic/functions.meta в одну цепочку MethodHandle.
+// Узлы сравниваются по точному классу: у наследника может быть другая формула.
+// Остальные функции остаются непрозрачными вызовами getFunctionValue.
+final class FunctionCompiler {
+
+    private static final MethodType UNARY = MethodType.methodType(double.class, double.class);
+    private static final MethodType BINARY = MethodType.methodType(double.class, double.class, double.class);
+
+    private static final MethodHandle EXP;
+    private static final MethodHandle LOG;
+    private static final MethodHandle SIN;
+    private static final MethodHandle COS;
+    private static final MethodHandle TAN;
+    private static final MethodHandle POW;
+    private static final MethodHandle ADD;
+    private static final MethodHandle SUB;
+    private static final MethodHandle MUL;
+    private static final MethodHandle DIV;
+    private static final MethodHandle FUNCTION_VALUE;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            EXP = lookup.findStatic(Math.class, "exp", UNARY);
+            LOG = lookup.findStatic(Math.class, "log", UNARY);
+            SIN = lookup.findStatic(Math.class, "sin", UNARY);
+            COS = lookup.findStatic(Math.class, "cos", UNARY);
+            TAN = lookup.findStatic(Math.class, "tan", UNARY);
+            POW = lookup.findStatic(Math.class, "pow", BINARY);
+            ADD = lookup.findStatic(FunctionCompiler.class, "add", BINARY);
+            SUB = lookup.findStatic(FunctionCompiler.class, "sub", BINARY);
+            MUL = lookup.findStatic(FunctionCompiler.class, "mul", BINARY);
+            DIV = lookup.findStatic(FunctionCompiler.class, "div", BINARY);
+            FUNCTION_VALUE = lookup.findVirtual(Function.class, "getFunctionValue", UNARY);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FunctionCompiler() {
+    }
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double sub(double a, double b) {
+        return a - b;
+    }
+
+    private static double mul(double a, double b) {
+        return a * b;
+    }
+
+    private static double div(double a, double b) {
+        return a / b;
+    }
+
+    static Function compile(Function f) {
+        if (f instanceof CompiledFunction) {
+            return f;
+        }
+        return new CompiledFunction(f, handle(f));
+    }
+
+    private static MethodHandle handle(Function f) {
+        Class<?> type = f.getClass();
+
+        if (type == Exp.class) {
+            return EXP;
+        }
+        if (type == Sin.class) {
+            return SIN;
+        }
+        if (type == Cos.class) {
+            return COS;
+        }
+        if (type == Tan.class) {
+            return TAN;
+        }
+        if (type == Log.class) {
+            double logBase = Math.log(((Log) f).getBase());
+            return MethodHandles.filterReturnValue(LOG, MethodHandles.insertArguments(DIV, 1, logBase));
+        }
+
+        if (type == Shift.class) {
+            Shift shift = (Shift) f;
+            MethodHandle h = MethodHandles.filterArguments(handle(shift.getFunction()), 0,
+                    MethodHandles.insertArguments(SUB, 1, shift.getShiftX()));
+            return MethodHandles.filterReturnValue(h, MethodHandles.insertArguments(ADD, 1, shift.getShiftY()));
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) f;
+            MethodHandle h = MethodHandles.filterArguments(handle(scale.getFunction()), 0,
+                    MethodHandles.insertArguments(DIV, 1, scale.getScaleX()));
+            return MethodHandles.filterReturnValue(h, MethodHandles.insertArguments(MUL, 1, scale.getScaleY()));
+        }
+        if (type == Power.class) {
+            Power power = (Power) f;
+            return MethodHandles.filterReturnValue(handle(power.getFunction()),
+                    MethodHandles.insertArguments(POW, 1, power.getPower()));
+        }
+        if (type == Composition.class) {
+            Composition composition = (Composition) f;
+            return MethodHandles.filterReturnValue(handle(composition.getInner()), handle(composition.getOuter()));
+        }
+        if (type == Sum.class) {
+            Sum sum = (Sum) f;
+            return both(ADD, handle(sum.getFirst()), handle(sum.getSecond()));
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) f;
+            return both(MUL, handle(mult.getFirst()), handle(mult.getSecond()));
+        }
+
+        return FUNCTION_VALUE.bindTo(f);
+    }
+
+    private static MethodHandle both(MethodHandle operation, MethodHandle first, MethodHandle second) {
+        MethodHandle h = MethodHandles.filterArguments(operation, 0, first, second);
+        return MethodHandles.permuteArguments(h, UNARY, 0, 0);
+    }
+
+    static final class CompiledFunction implements Function {
+
+        private final Function source;
+        private final MethodHandle handle;
+
+        CompiledFunction(Function source, MethodHandle handle) {
+            this.source = source;
+            this.handle = handle;
+        }
+
+        Function getSource() {
+            return source;
+        }
+
+        @Override
+        public double getLeftDomainBorder() {
+            return source.getLeftDomainBorder();
+        }
+
+        @Override
+        public double getRightDomainBorder() {
+            return source.getRightDomainBorder();
+        }
+
+        @Override
+        public double getFunctionValue(double x) {
+            try {
+                return (double) handle.invokeExact(x);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void evaluate(double[] xs, double[] out, int from, int to) {
+            source.evaluate(xs, out, from, to);
+        }
+    }
+}
@@ -2,24 +2,74 @@ package functions;
 
 import functions.meta.*;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 public class Functions {
 
+    private static final int INTEGRATION_BATCH_SIZE = 1024;
+    private static final long PARALLEL_INTEGRATION_THRESHOLD = 1L << 15;
+
     private Functions() {
     }
 
     public static Function shift(Function f, double shiftX, double shiftY) {
-        return new Shift(f, shiftX, shiftY);
+        if (shiftX == 0.0 && shiftY == 0.0) {
+            return f;
+        }
+
+        Shift shift = new Shift(f, shiftX, shiftY);
+        if (f.getClass() == Shift.class) {
+            Shift inner = (Shift) f;
+            Shift merged = new Shift(inner.getFunction(),
+                    inner.getShiftX() + shiftX,
+                    inner.getShiftY() + shiftY);
+            if (isFinite(merged.getShiftX(), merged.getShiftY()) && sameDomain(merged, shift)) {
+                return shift(merged.getFunction(), merged.getShiftX(), merged.getShiftY());
+            }
+        }
+        return shift;
     }
 
     public static Function scale(Function f, double scaleX, double scaleY) {
-        return new Scale(f, scaleX, scaleY);
+        if (scaleX == 1.0 && scaleY == 1.0) {
+            return f;
+        }
+
+        Scale scale = new Scale(f, scaleX, scaleY);
+        if (f.getClass() == Scale.class) {
+            Scale inner = (Scale) f;
+            Scale merged = new Scale(inner.getFunction(),
+                    inner.getScaleX() * scaleX,
+                    inner.getScaleY() * scaleY);
+            if (isFinite(merged.getScaleX(), merged.getScaleY())
+                    && merged.getScaleX() != 0.0
+                    && sameDomain(merged, scale)) {
+                return scale(merged.getFunction(), merged.getScaleX(), merged.getScaleY());
+            }
+        }
+        return scale;
     }
 
     public static Function power(Function f, double power) {
+        if (power == 1.0) {
+            return f;
+        }
+
+        if (f.getClass() == Power.class) {
+            Power inner = (Power) f;
+            double merged = inner.getPower() * power;
+            if (isInteger(inner.getPower()) && isInteger(power) && isInteger(merged)) {
+                return power(inner.getFunction(), merged);
+            }
+        }
         return new Power(f, power);
     }
 
     public static Function sum(Function f1, Function f2) {
+        if (f1 == f2) {
+            return scale(f1, 1.0, 2.0);
+        }
         return new Sum(f1, f2);
     }
 
@@ -27,31 +77,304 @@ public class Functions {
         return new Mult(f1, f2);
     }
 
+    // Нейтральные обёртки с обеих сторон снимаются, а обёртки внешней функции,
+    // меняющие только y, выносятся наружу: g(h(x)) + c, g(h(x)) * k и g(h(x))^p
+    // дают те же биты, зато могут слиться с соседними shift/scale/power.
     public static Function composition(Function f1, Function f2) {
-        return new Composition(f1, f2);
+        Function outer = withoutIdentity(f1);
+        Function inner = withoutIdentity(f2);
+        Class<?> type = outer.getClass();
+
+        if (type == Shift.class && ((Shift) outer).getShiftX() == 0.0) {
+            Shift shift = (Shift) outer;
+            return shift(composition(shift.getFunction(), inner), 0.0, shift.getShiftY());
+        }
+        if (type == Scale.class && ((Scale) outer).getScaleX() == 1.0) {
+            Scale scale = (Scale) outer;
+            return scale(composition(scale.getFunction(), inner), 1.0, scale.getScaleY());
+        }
+        if (type == Power.class) {
+            Power power = (Power) outer;
+            return power(composition(power.getFunction(), inner), power.getPower());
+        }
+        return new Composition(outer, inner);
+    }
+
+    // Shift(f, 0, 0), Scale(f, 1, 1) и Power(f, 1), созданные напрямую конструкторами.
+    private static Function withoutIdentity(Function f) {
+        while (true) {
+            Class<?> type = f.getClass();
+            if (type == Shift.class && ((Shift) f).getShiftX() == 0.0 && ((Shift) f).getShiftY() == 0.0) {
+                f = ((Shift) f).getFunction();
+            } else if (type == Scale.class && ((Scale) f).getScaleX() == 1.0 && ((Scale) f).getScaleY() == 1.0) {
+                f = ((Scale) f).getFunction();
+            } else if (type == Power.class && ((Power) f).getPower() == 1.0) {
+                f = ((Power) f).getFunction();
+            } else {
+                return f;
+            }
+        }
+    }
+
+    public static Function simplify(Function f) {
+        Class<?> type = f.getClass();
+
+        if (type == Shift.class) {
+            Shift shift = (Shift) f;
+            return shift(simplify(shift.getFunction()), shift.getShiftX(), shift.getShiftY());
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) f;
+            return scale(simplify(scale.getFunction()), scale.getScaleX(), scale.getScaleY());
+        }
+        if (type == Power.class) {
+            Power power = (Power) f;
+            return power(simplify(power.getFunction()), power.getPower());
+        }
+        if (type == Sum.class) {
+            Sum sum = (Sum) f;
+            return sum(simplify(sum.getFirst()), simplify(sum.getSecond()));
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) f;
+            return mult(simplify(mult.getFirst()), simplify(mult.getSecond()));
+        }
+        if (type == Composition.class) {
+            Composition composition = (Composition) f;
+            return composition(simplify(composition.getOuter()), simplify(composition.getInner()));
+        }
+        return f;
     }
 
+    private static boolean isFinite(double a, double b) {
+        return Double.isFinite(a) && Double.isFinite(b);
+    }
+
+    private static boolean isInteger(double value) {
+        return Math.abs(value) < 0x1p53 && value == Math.rint(value);
+    }
+
+    private static boolean sameDomain(Function a, Function b) {
+        return Double.compare(a.getLeftDomainBorder(), b.getLeftDomainBorder()) == 0
+                && Double.compare(a.getRightDomainBorder(), b.getRightDomainBorder()) == 0;
+    }
+
+    public static Function compile(Function f) {
+        return FunctionCompiler.compile(f);
+    }
+
+    public static Memoized memoize(Function f, int capacity) {
+        return new Memoized(f, capacity);
+    }
+
+    // Табулированные функции интегрируются точно по узлам, деревья basic/meta - по первообразной.
+    private static boolean hasExactIntegral(Function f) {
+        return f instanceof TabulatedFunction
+                || f instanceof Integrable && ((Integrable) f).isIntegrable();
+    }
+
+    private static double exactIntegral(Function f, double leftX, double rightX) {
+        if (f instanceof TabulatedFunction) {
+            return TabulatedFunctions.integrate((TabulatedFunction) f, leftX, rightX);
+        }
+        return ((Integrable) f).integrate(leftX, rightX);
+    }
+
+    // Точный интеграл по первообразной (деревья basic/meta) или по узлам (табулированные функции).
+    public static double integrateExact(Function f, double leftX, double rightX)
+            throws FunctionPointIndexOutOfBoundsException {
+
+        if (leftX < f.getLeftDomainBorder() || rightX > f.getRightDomainBorder()) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Интервал интегрирования выходит за границы области определения функции"
+            );
+        }
+        if (!hasExactIntegral(f)) {
+            throw new IllegalArgumentException("У функции нет первообразной в замкнутом виде");
+        }
+        return exactIntegral(f, leftX, rightX);
+    }
+
+    // Если у функции есть точный интеграл, step не используется;
+    // integrateNumeric всегда считает по трапециям.
     public static double integrate(Function f, double leftX, double rightX, double step)
             throws FunctionPointIndexOutOfBoundsException {
 
+        if (hasExactIntegral(f) && leftX < rightX) {
+            return integrateExact(f, leftX, rightX);
+        }
+        return integrateNumeric(f, leftX, rightX, step);
+    }
+
+    public static double integrateNumeric(Function f, double leftX, double rightX, double step)
+            throws FunctionPointIndexOutOfBoundsException {
+
         if (leftX < f.getLeftDomainBorder() || rightX > f.getRightDomainBorder()) {
             throw new FunctionPointIndexOutOfBoundsException(
                     "Интервал интегрирования выходит за границы области определения функции"
             );
         }
 
+        double[] xs = new double[INTEGRATION_BATCH_SIZE];
+        double[] ys = new double[INTEGRATION_BATCH_SIZE];
+
         double integral = 0.0;
         double x1 = leftX;
+        if (!(x1 < rightX)) {
+            return integral;
+        }
+        double y1 = f.getFunctionValue(x1);
 
         while (x1 < rightX) {
-            double x2 = Math.min(x1 + step, rightX);
-            double y1 = f.getFunctionValue(x1);
-            double y2 = f.getFunctionValue(x2);
-            double trapezoidArea = (y1 + y2) / 2.0 * (x2 - x1);
-            integral += trapezoidArea;
-            x1 = x2;
+            int n = 0;
+            double x = x1;
+            while (n < INTEGRATION_BATCH_SIZE && x < rightX) {
+                x = Math.min(x + step, rightX);
+                xs[n++] = x;
+            }
+            f.evaluate(xs, ys, 0, n);
+
+            for (int i = 0; i < n; i++) {
+                double x2 = xs[i];
+                double y2 = ys[i];
+                double trapezoidArea = (y1 + y2) / 2.0 * (x2 - x1);
+                integral += trapezoidArea;
+                x1 = x2;
+                y1 = y2;
+            }
         }
 
         return integral;
     }
+
+    // Адаптивная квадратура: отрезки делятся, пока оценка погрешности больше
+    // max(absTolerance, relTolerance * |значение|) и не исчерпан лимит вычислений.
+    public static IntegrationResult integrateAdaptive(Function f, double leftX, double rightX,
+                                                      double absTolerance, double relTolerance,
+                                                      int maxEvaluations)
+            throws FunctionPointIndexOutOfBoundsException {
+
+        if (leftX < f.getLeftDomainBorder() || rightX > f.getRightDomainBorder()) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Интервал интегрирования выходит за границы области определения функции"
+            );
+        }
+
+        // Первообразную здесь не используем: вызывающий просит численную оценку
+        // с погрешностью и числом вычислений, точный путь - integrateExact.
+        if (f instanceof TabulatedFunction && leftX < rightX) {
+            return new IntegrationResult(TabulatedFunctions.integrate((TabulatedFunction) f, leftX, rightX),
+                    0.0, 0, true);
+        }
+
+        return AdaptiveIntegrator.integrate(f, leftX, rightX, absTolerance, relTolerance, maxEvaluations);
+    }
+
+    public static double integrateParallel(Function f, double leftX, double rightX, double step)
+            throws FunctionPointIndexOutOfBoundsException {
+        return integrateParallel(f, leftX, rightX, step, ForkJoinPool.commonPool());
+    }
+
+    // Узлы берутся как leftX + k * step, а не накоплением x += step, поэтому с integrateNumeric
+    // результат совпадает с точностью порядка N * 2^-53 относительно суммы |трапеций|,
+    // где N - число шагов. Разбиение на участки зависит только от N, так что результат
+    // воспроизводим при любом числе потоков. f вычисляется из нескольких потоков сразу.
+    public static double integrateParallel(Function f, double leftX, double rightX, double step,
+                                           ForkJoinPool pool)
+            throws FunctionPointIndexOutOfBoundsException {
+
+        if (leftX < f.getLeftDomainBorder() || rightX > f.getRightDomainBorder()) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Интервал интегрирования выходит за границы области определения функции"
+            );
+        }
+
+        if (f instanceof TabulatedFunction && leftX < rightX) {
+            return TabulatedFunctions.integrate((TabulatedFunction) f, leftX, rightX);
+        }
+
+        double steps = Math.ceil((rightX - leftX) / step);
+        if (!(step > 0.0) || !(steps > PARALLEL_INTEGRATION_THRESHOLD) || steps >= 0x1p62) {
+            return integrateNumeric(f, leftX, rightX, step);
+        }
+
+        return pool.invoke(new TrapezoidTask(f, leftX, rightX, step, (long) steps, 0, (long) steps));
+    }
+
+    private static final class TrapezoidTask extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Function f;
+        private final double leftX;
+        private final double rightX;
+        private final double step;
+        private final long steps;
+        private final long from;
+        private final long to;
+
+        TrapezoidTask(Function f, double leftX, double rightX, double step, long steps, long from, long to) {
+            this.f = f;
+            this.leftX = leftX;
+            this.rightX = rightX;
+            this.step = step;
+            this.steps = steps;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= PARALLEL_INTEGRATION_THRESHOLD) {
+                return chunk();
+            }
+
+            long mid = from + (to - from) / 2;
+            TrapezoidTask left = new TrapezoidTask(f, leftX, rightX, step, steps, from, mid);
+            left.fork();
+            double right = new TrapezoidTask(f, leftX, rightX, step, steps, mid, to).compute();
+            return left.join() + right;
+        }
+
+        private double node(long k) {
+            return k == steps ? rightX : Math.min(leftX + k * step, rightX);
+        }
+
+        // Сумма трапеций на шагах [from, to) с компенсацией Ноймайера.
+        private double chunk() {
+            double[] xs = new double[INTEGRATION_BATCH_SIZE];
+            double[] ys = new double[INTEGRATION_BATCH_SIZE];
+
+            double sum = 0.0;
+            double compensation = 0.0;
+            double x1 = node(from);
+            double y1 = f.getFunctionValue(x1);
+
+            for (long k = from; k < to; ) {
+                int n = (int) Math.min(INTEGRATION_BATCH_SIZE, to - k);
+                for (int i = 0; i < n; i++) {
+                    xs[i] = node(k + 1 + i);
+                }
+                f.evaluate(xs, ys, 0, n);
+
+                for (int i = 0; i < n; i++) {
+                    double x2 = xs[i];
+                    double y2 = ys[i];
+                    double trapezoidArea = (y1 + y2) / 2.0 * (x2 - x1);
+                    double t = sum + trapezoidArea;
+                    if (Math.abs(sum) >= Math.abs(trapezoidArea)) {
+                        compensation += (sum - t) + trapezoidArea;
+                    } else {
+                        compensation += (trapezoidArea - t) + sum;
+                    }
+                    sum = t;
+                    x1 = x2;
+                    y1 = y2;
+                }
+                k += n;
+            }
+
+            return Double.isFinite(sum) ? sum + compensation : sum;
+        }
+    }
 }
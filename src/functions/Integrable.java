@@ -0,0 +1,14 @@
+package functions;
+
+public interface Integrable {
+
+    // Точный интеграл на [leftX, rightX]; при leftX > rightX меняет знак.
+    // Вне области определения возвращает NaN.
+    double integrate(double leftX, double rightX);
+
+    // Обёртки (Shift, Scale, Sum) интегрируемы, только если интегрируемы
+    // вложенные функции; иначе integrate бросает UnsupportedOperationException.
+    default boolean isIntegrable() {
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package functions;
+
+public final class IntegrationResult {
+
+    private final double value;
+    private final double errorEstimate;
+    private final int evaluations;
+    private final boolean converged;
+
+    public IntegrationResult(double value, double errorEstimate, int evaluations, boolean converged) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+        this.converged = converged;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public double getErrorEstimate() {
+        return errorEstimate;
+    }
+
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    @Override
+    public String toString() {
+        return value + " ± " + errorEstimate + " (" + evaluations + " вычислений"
+                + (converged ? ")" : ", точность не достигнута)");
+    }
+}
@@ -0,0 +1,92 @@
+package functions;
+
+// Пакетные вычисления для functions.basic и functions.meta.
+// Векторная реализация на jdk.incubator.vector лежит в отдельном корне исходников
+// vector/ (модуль lab7-vector) и загружается только по имени класса: основное дерево
+// собирается на обычном JDK без --add-modules. Она включается свойством
+// -Dfunctions.vector=true или методом setVectorEnabled(true), если в classpath есть
+// классы vector/ и JVM запущена с --add-modules jdk.incubator.vector;
+// иначе остаётся скалярный путь.
+// Арифметические ядра (add, mul, *Scalar) дают те же биты, что и скалярный путь;
+// exp, log, sin, cos, tan отличаются от Math.* не более чем на 2 ulp
+// (обе реализации дают не более 1 ulp от точного значения).
+public final class Kernels {
+
+    private static final BatchKernels SCALAR = new ScalarKernels();
+
+    private static volatile BatchKernels kernels = SCALAR;
+
+    static {
+        if (Boolean.getBoolean("functions.vector")) {
+            setVectorEnabled(true);
+        }
+    }
+
+    private Kernels() {
+    }
+
+    public static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    public static boolean isVectorEnabled() {
+        return kernels != SCALAR;
+    }
+
+    public static boolean setVectorEnabled(boolean enabled) {
+        if (!enabled || !isVectorAvailable()) {
+            kernels = SCALAR;
+            return !enabled;
+        }
+
+        try {
+            kernels = (BatchKernels) Class.forName("functions.VectorKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            return true;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            kernels = SCALAR;
+            return false;
+        }
+    }
+
+    public static void exp(double[] xs, double[] out, int from, int to) {
+        kernels.exp(xs, out, from, to);
+    }
+
+    public static void log(double[] xs, double[] out, int from, int to, double logBase) {
+        kernels.log(xs, out, from, to, logBase);
+    }
+
+    public static void sin(double[] xs, double[] out, int from, int to) {
+        kernels.sin(xs, out, from, to);
+    }
+
+    public static void cos(double[] xs, double[] out, int from, int to) {
+        kernels.cos(xs, out, from, to);
+    }
+
+    public static void tan(double[] xs, double[] out, int from, int to) {
+        kernels.tan(xs, out, from, to);
+    }
+
+    public static void add(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        kernels.add(a, aFrom, b, bFrom, length);
+    }
+
+    public static void mul(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        kernels.mul(a, aFrom, b, bFrom, length);
+    }
+
+    public static void addScalar(double[] xs, double[] out, int from, int to, double c) {
+        kernels.addScalar(xs, out, from, to, c);
+    }
+
+    public static void mulScalar(double[] xs, double[] out, int from, int to, double c) {
+        kernels.mulScalar(xs, out, from, to, c);
+    }
+
+    public static void divScalar(double[] xs, double[] out, int from, int to, double c) {
+        kernels.divScalar(xs, out, from, to, c);
+    }
+}
@@ -4,6 +4,7 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -22,14 +23,40 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         }
     }
 
-    private FunctionNode head;
+    private static final int SKIP_SHIFT = 6;
+    private static final int SKIP_STRIDE = 1 << SKIP_SHIFT;
+
+    private transient FunctionNode head;
     private int pointsCount;
 
+    // Узел последнего обращения по индексу. Узел и индекс лежат в одном неизменяемом
+    // объекте: параллельные читатели не увидят узел одного обращения с индексом другого.
+    private static final class Cursor {
+        final FunctionNode node;
+        final int index;
+
+        Cursor(FunctionNode node, int index) {
+            this.node = node;
+            this.index = index;
+        }
+    }
+
+    private transient Cursor cursor;
+
+    // skipIndex[j] - узел с индексом j * SKIP_STRIDE. Строится при первом дальнем
+    // обращении и дальше поддерживается при вставке и удалении узлов;
+    // заполненный массив публикуется одной записью в volatile-поле.
+    private transient volatile FunctionNode[] skipIndex;
+    private transient int skipCount;
+
     private void initEmptyList() {
         head = new FunctionNode(null);
         head.next = head;
         head.prev = head;
         pointsCount = 0;
+        cursor = null;
+        skipIndex = null;
+        skipCount = 0;
     }
 
     public LinkedListTabulatedFunction() {
@@ -103,21 +130,109 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
                     "Индекс точки вне диапазона: " + index);
         }
 
-        FunctionNode current;
-        if (index < pointsCount / 2) {
-            current = head.next;
-            for (int i = 0; i < index; i++) {
-                current = current.next;
-            }
-        } else {
+        FunctionNode current = head.next;
+        int currentIndex = 0;
+        int distance = index;
+
+        if (pointsCount - 1 - index < distance) {
             current = head.prev;
-            for (int i = pointsCount - 1; i > index; i--) {
-                current = current.prev;
+            currentIndex = pointsCount - 1;
+            distance = pointsCount - 1 - index;
+        }
+
+        Cursor last = cursor;
+        if (last != null && Math.abs(index - last.index) < distance) {
+            current = last.node;
+            currentIndex = last.index;
+            distance = Math.abs(index - last.index);
+        }
+
+        if (distance > SKIP_STRIDE) {
+            FunctionNode[] skips = skipIndex;
+            if (skips == null) {
+                skips = buildSkipIndex();
             }
+            int j = Math.min((index + SKIP_STRIDE / 2) >> SKIP_SHIFT, skipCount - 1);
+            current = skips[j];
+            currentIndex = j << SKIP_SHIFT;
+        }
+
+        while (currentIndex < index) {
+            current = current.next;
+            currentIndex++;
+        }
+        while (currentIndex > index) {
+            current = current.prev;
+            currentIndex--;
+        }
+
+        // Новый Cursor - только если узел сменился: повторные чтения той же точки
+        // (getPointX, затем getPointY) не выделяют память.
+        if (last == null || last.node != current) {
+            cursor = new Cursor(current, index);
         }
         return current;
     }
 
+    private FunctionNode[] buildSkipIndex() {
+        int count = (pointsCount + SKIP_STRIDE - 1) >> SKIP_SHIFT;
+        FunctionNode[] skips = new FunctionNode[count + 1];
+
+        FunctionNode current = head.next;
+        for (int i = 0; i < pointsCount; i++) {
+            if ((i & (SKIP_STRIDE - 1)) == 0) {
+                skips[i >> SKIP_SHIFT] = current;
+            }
+            current = current.next;
+        }
+
+        skipCount = count;
+        skipIndex = skips;
+        return skips;
+    }
+
+    private void nodeInserted(int index, FunctionNode node) {
+        Cursor current = cursor;
+        if (current != null && current.index >= index) {
+            cursor = new Cursor(current.node, current.index + 1);
+        }
+
+        if (skipIndex != null) {
+            for (int j = (index + SKIP_STRIDE - 1) >> SKIP_SHIFT; j < skipCount; j++) {
+                skipIndex[j] = skipIndex[j].prev;
+            }
+
+            int last = pointsCount - 1;
+            if ((last & (SKIP_STRIDE - 1)) == 0) {
+                if (skipCount == skipIndex.length) {
+                    skipIndex = Arrays.copyOf(skipIndex, skipCount * 2);
+                }
+                skipIndex[skipCount++] = head.prev;
+            }
+        }
+    }
+
+    private void nodeDeleted(int index, FunctionNode node) {
+        Cursor current = cursor;
+        if (current != null && current.node == node) {
+            cursor = node.next != head
+                    ? new Cursor(node.next, current.index)
+                    : new Cursor(node.prev, current.index - 1);
+        } else if (current != null && current.index > index) {
+            cursor = new Cursor(current.node, current.index - 1);
+        }
+
+        if (skipIndex != null) {
+            for (int j = (index + SKIP_STRIDE - 1) >> SKIP_SHIFT; j < skipCount; j++) {
+                skipIndex[j] = skipIndex[j].next;
+            }
+
+            if (skipCount > 0 && (skipCount - 1) << SKIP_SHIFT >= pointsCount) {
+                skipIndex[--skipCount] = null;
+            }
+        }
+    }
+
     private FunctionNode addNodeToTail() {
         FunctionNode newNode = new FunctionNode(null);
 
@@ -127,6 +242,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         head.prev = newNode;
 
         pointsCount++;
+        nodeInserted(pointsCount - 1, newNode);
         return newNode;
     }
 
@@ -149,6 +265,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         nextNode.prev = newNode;
 
         pointsCount++;
+        nodeInserted(index, newNode);
         return newNode;
     }
 
@@ -164,6 +281,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         node.next.prev = node.prev;
 
         pointsCount--;
+        nodeDeleted(index, node);
         return node;
     }
 
@@ -202,6 +320,41 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         return y1 + (x - x1) * (y2 - y1) / (x2 - x1);
     }
 
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        FunctionNode current = head.next;
+
+        for (int k = from; k < to; k++) {
+            double x = xs[k];
+            if (x < left || x > right) {
+                out[k] = Double.NaN;
+                continue;
+            }
+
+            if (x < current.point.getX()) {
+                current = head.next;
+            }
+            while (current.next.next != head && x > current.next.point.getX()) {
+                current = current.next;
+            }
+
+            double x1 = current.point.getX();
+            double y1 = current.point.getY();
+            double x2 = current.next.point.getX();
+            double y2 = current.next.point.getY();
+
+            if (x == x1) {
+                out[k] = y1;
+            } else if (x == x2) {
+                out[k] = y2;
+            } else {
+                out[k] = y1 + (x - x1) * (y2 - y1) / (x2 - x1);
+            }
+        }
+    }
+
     private void checkIndex(int index) {
         if (index < 0 || index >= pointsCount) {
             throw new FunctionPointIndexOutOfBoundsException(
@@ -451,5 +604,22 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
             return new LinkedListTabulatedFunction(points);
         }
+
+        @Override
+        public TabulatedFunctionBuilder createTabulatedFunctionBuilder(int expectedPointsCount) {
+            return new AbstractTabulatedFunctionBuilder() {
+                private final LinkedListTabulatedFunction function = new LinkedListTabulatedFunction();
+
+                @Override
+                void append(int index, double x, double y) {
+                    function.addNodeToTail().point = new FunctionPoint(x, y);
+                }
+
+                @Override
+                TabulatedFunction finish(int pointsCount) {
+                    return function;
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,592 @@
+package functions;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+
+public class MappedTabulatedFunction implements TabulatedFunction, Integrable, Externalizable, Cloneable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Раскладка совпадает с TabulatedFunctions.outputTabulatedFunction:
+    // int количество точек, затем пары double x, y (big-endian).
+    private static final int HEADER_BYTES = 4;
+    private static final int POINT_BYTES = 16;
+
+    // Один буфер адресуется int-смещениями, поэтому точки разбиты на сегменты по 1 ГиБ.
+    private static final int SEGMENT_SHIFT = 26;
+    private static final int SEGMENT_POINTS = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_POINTS - 1;
+
+    private transient ByteBuffer header;
+    private transient ByteBuffer[] segments;
+    private int pointsCount;
+    private int capacity;
+    private boolean mapped;
+    private boolean readOnly;
+    private transient int lastSegment;
+
+    public MappedTabulatedFunction() {
+        segments = new ByteBuffer[0];
+    }
+
+    public MappedTabulatedFunction(double leftX,
+                                   double rightX,
+                                   int pointsCount) {
+        if (leftX >= rightX || pointsCount < 2) {
+            throw new IllegalArgumentException("Некорректные границы или количество точек");
+        }
+
+        allocate(pointsCount);
+        this.pointsCount = pointsCount;
+
+        double step = (rightX - leftX) / (pointsCount - 1);
+
+        for (int i = 0; i < pointsCount; i++) {
+            putPoint(i, leftX + step * i, 0.0);
+        }
+    }
+
+    public MappedTabulatedFunction(double leftX,
+                                   double rightX,
+                                   double[] values) {
+        if (leftX >= rightX || values.length < 2) {
+            throw new IllegalArgumentException("Некорректные границы или количество точек");
+        }
+
+        allocate(values.length);
+        this.pointsCount = values.length;
+
+        double step = (rightX - leftX) / (pointsCount - 1);
+
+        for (int i = 0; i < pointsCount; i++) {
+            putPoint(i, leftX + step * i, values[i]);
+        }
+    }
+
+    public MappedTabulatedFunction(FunctionPoint[] sourcePoints) {
+        if (sourcePoints.length < 2) {
+            throw new IllegalArgumentException("Должно быть не меньше двух точек");
+        }
+
+        for (int i = 1; i < sourcePoints.length; i++) {
+            if (sourcePoints[i - 1].getX() >= sourcePoints[i].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию x");
+            }
+        }
+
+        allocate(sourcePoints.length);
+        this.pointsCount = sourcePoints.length;
+
+        for (int i = 0; i < pointsCount; i++) {
+            putPoint(i, sourcePoints[i].getX(), sourcePoints[i].getY());
+        }
+    }
+
+    public static MappedTabulatedFunction open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    public static MappedTabulatedFunction open(Path path, boolean writable) throws IOException {
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Файл слишком короткий для табулированной функции: " + path);
+            }
+
+            MappedTabulatedFunction function = new MappedTabulatedFunction();
+            function.header = channel.map(mode, 0, HEADER_BYTES);
+
+            long capacity = Math.min((size - HEADER_BYTES) / POINT_BYTES, Integer.MAX_VALUE);
+            int n = function.header.getInt(0);
+            if (n < 2 || n > capacity) {
+                throw new IOException("Некорректное количество точек в файле: " + n);
+            }
+
+            int segmentCount = (int) ((capacity + SEGMENT_POINTS - 1) >> SEGMENT_SHIFT);
+            function.segments = new ByteBuffer[segmentCount];
+            for (int k = 0; k < segmentCount; k++) {
+                long first = (long) k << SEGMENT_SHIFT;
+                long points = Math.min(SEGMENT_POINTS, capacity - first);
+                function.segments[k] = channel.map(mode,
+                        HEADER_BYTES + first * POINT_BYTES,
+                        points * POINT_BYTES);
+            }
+
+            function.pointsCount = n;
+            function.capacity = (int) capacity;
+            function.mapped = true;
+            function.readOnly = !writable;
+            return function;
+        }
+    }
+
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public void force() {
+        if (!mapped || readOnly) {
+            return;
+        }
+        ((MappedByteBuffer) header).force();
+        for (ByteBuffer segment : segments) {
+            ((MappedByteBuffer) segment).force();
+        }
+    }
+
+    private void allocate(int count) {
+        int segmentCount = (count + SEGMENT_POINTS - 1) >> SEGMENT_SHIFT;
+        segments = new ByteBuffer[segmentCount];
+        for (int k = 0; k < segmentCount; k++) {
+            int points = Math.min(SEGMENT_POINTS, count - (k << SEGMENT_SHIFT));
+            segments[k] = ByteBuffer.allocateDirect(points * POINT_BYTES);
+        }
+        capacity = count;
+    }
+
+    private void ensureCapacity(int count) {
+        if (count <= capacity) {
+            return;
+        }
+        if (mapped) {
+            throw new UnsupportedOperationException("Отображённый файл заполнен, добавить точку нельзя");
+        }
+
+        int newCapacity = (int) Math.min((long) capacity + (capacity >> 1) + 1, Integer.MAX_VALUE);
+        ByteBuffer[] oldSegments = segments;
+        allocate(newCapacity);
+        for (int k = 0; k < oldSegments.length; k++) {
+            segments[k].put(oldSegments[k].duplicate().clear());
+            segments[k].clear();
+        }
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Табулированная функция открыта только для чтения");
+        }
+    }
+
+    private double x(int index) {
+        return segments[index >>> SEGMENT_SHIFT].getDouble((index & SEGMENT_MASK) * POINT_BYTES);
+    }
+
+    private double y(int index) {
+        return segments[index >>> SEGMENT_SHIFT].getDouble((index & SEGMENT_MASK) * POINT_BYTES + 8);
+    }
+
+    private void putPoint(int index, double x, double y) {
+        ByteBuffer segment = segments[index >>> SEGMENT_SHIFT];
+        int offset = (index & SEGMENT_MASK) * POINT_BYTES;
+        segment.putDouble(offset, x);
+        segment.putDouble(offset + 8, y);
+    }
+
+    private void copyPoint(int from, int to) {
+        ByteBuffer source = segments[from >>> SEGMENT_SHIFT];
+        ByteBuffer target = segments[to >>> SEGMENT_SHIFT];
+        int sourceOffset = (from & SEGMENT_MASK) * POINT_BYTES;
+        int targetOffset = (to & SEGMENT_MASK) * POINT_BYTES;
+        target.putLong(targetOffset, source.getLong(sourceOffset));
+        target.putLong(targetOffset + 8, source.getLong(sourceOffset + 8));
+    }
+
+    private void setCount(int count) {
+        pointsCount = count;
+        if (header != null) {
+            header.putInt(0, count);
+        }
+    }
+
+    public double getLeftDomainBorder() {
+        return x(0);
+    }
+
+    public double getRightDomainBorder() {
+        return x(pointsCount - 1);
+    }
+
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        return valueInSegment(findSegment(x), x);
+    }
+
+    private double valueInSegment(int i, double x) {
+        double x1 = x(i);
+        double y1 = y(i);
+        double x2 = x(i + 1);
+        double y2 = y(i + 1);
+
+        if (x == x1) {
+            return y1;
+        }
+        if (x == x2) {
+            return y2;
+        }
+
+        return y1 + (x - x1) * (y2 - y1) / (x2 - x1);
+    }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        int segment = -1;
+
+        for (int k = from; k < to; k++) {
+            double x = xs[k];
+            if (x < left || x > right) {
+                out[k] = Double.NaN;
+                continue;
+            }
+
+            if (segment < 0 || x < x(segment)
+                    || x > x(Math.min(segment + 8, pointsCount - 1))) {
+                segment = findSegment(x);
+            } else {
+                while (segment < pointsCount - 2 && x > x(segment + 1)) {
+                    segment++;
+                }
+            }
+
+            out[k] = valueInSegment(segment, x);
+        }
+    }
+
+    private int findSegment(double x) {
+        int hint = lastSegment;
+        if (hint < pointsCount - 1 && x(hint) <= x) {
+            if (x <= x(hint + 1)) {
+                return hint;
+            }
+            if (hint + 2 < pointsCount && x <= x(hint + 2)) {
+                lastSegment = hint + 1;
+                return hint + 1;
+            }
+        }
+
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (x(mid) <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        lastSegment = low;
+        return low;
+    }
+
+    // Префиксные суммы не кэшируются: файл может быть слишком велик для массива
+    // в куче, поэтому суммируются только узлы между найденными отрезками.
+    @Override
+    public double integrate(double leftX, double rightX) {
+        if (leftX > rightX) {
+            return -integrate(rightX, leftX);
+        }
+        if (leftX < getLeftDomainBorder() || rightX > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        int i = findSegment(leftX);
+        int j = findSegment(rightX);
+        if (i == j) {
+            return (valueInSegment(i, leftX) + valueInSegment(i, rightX)) / 2.0 * (rightX - leftX);
+        }
+
+        double integral = (valueInSegment(i, leftX) + y(i + 1)) / 2.0 * (x(i + 1) - leftX);
+        for (int k = i + 1; k < j; k++) {
+            integral += (y(k) + y(k + 1)) / 2.0 * (x(k + 1) - x(k));
+        }
+        integral += (y(j) + valueInSegment(j, rightX)) / 2.0 * (rightX - x(j));
+        return integral;
+    }
+
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс точки вне диапазона: " + index);
+        }
+    }
+
+    private void checkX(int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && x <= x(index - 1)) {
+            throw new InappropriateFunctionPointException("x новой точки выходит за левый интервал");
+        }
+
+        if (index < pointsCount - 1 && x >= x(index + 1)) {
+            throw new InappropriateFunctionPointException("x новой точки выходит за правый интервал");
+        }
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(x(index), y(index));
+    }
+
+    public void setPoint(int index,
+                         FunctionPoint point) throws InappropriateFunctionPointException {
+        checkWritable();
+        checkIndex(index);
+        checkX(index, point.getX());
+
+        putPoint(index, point.getX(), point.getY());
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return x(index);
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        checkWritable();
+        checkIndex(index);
+        checkX(index, x);
+
+        putPoint(index, x, y(index));
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return y(index);
+    }
+
+    public void setPointY(int index, double y) {
+        checkWritable();
+        checkIndex(index);
+        putPoint(index, x(index), y);
+    }
+
+    public void deletePoint(int index) {
+        checkWritable();
+
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Нельзя удалять точку: точек меньше трёх");
+        }
+
+        checkIndex(index);
+
+        for (int i = index; i < pointsCount - 1; i++) {
+            copyPoint(i + 1, i);
+        }
+
+        setCount(pointsCount - 1);
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        checkWritable();
+
+        double x = point.getX();
+
+        int low = 0;
+        int high = pointsCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (x(mid) < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        if (low < pointsCount && x(low) == x) {
+            throw new InappropriateFunctionPointException("Точка с таким x уже существует: " + x);
+        }
+
+        ensureCapacity(pointsCount + 1);
+
+        for (int i = pointsCount; i > low; i--) {
+            copyPoint(i - 1, i);
+        }
+
+        putPoint(low, x, point.getY());
+        setCount(pointsCount + 1);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(pointsCount);
+        for (int i = 0; i < pointsCount; i++) {
+            out.writeDouble(x(i));
+            out.writeDouble(y(i));
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        int n = in.readInt();
+        header = null;
+        mapped = false;
+        readOnly = false;
+        allocate(n);
+        for (int i = 0; i < n; i++) {
+            double x = in.readDouble();
+            double y = in.readDouble();
+            putPoint(i, x, y);
+        }
+        pointsCount = n;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append('(').append(x(i)).append("; ").append(y(i)).append(')');
+            if (i != pointsCount - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction)) return false;
+        TabulatedFunction other = (TabulatedFunction) o;
+
+        if (this.getPointsCount() != other.getPointsCount()) {
+            return false;
+        }
+
+        double eps = 1e-9;
+        for (int i = 0; i < pointsCount; i++) {
+            if (!(Math.abs(x(i) - other.getPointX(i)) < eps
+                    && Math.abs(y(i) - other.getPointY(i)) < eps)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = pointsCount;
+        for (int i = 0; i < pointsCount; i++) {
+            long bits = Double.doubleToLongBits(x(i)) ^ Double.doubleToLongBits(y(i));
+            h ^= (int) (bits ^ (bits >>> 32));
+        }
+        return h;
+    }
+
+    @Override
+    public Object clone() {
+        try {
+            MappedTabulatedFunction copy = (MappedTabulatedFunction) super.clone();
+            copy.header = null;
+            copy.mapped = false;
+            copy.readOnly = false;
+            copy.allocate(pointsCount);
+            for (int i = 0; i < pointsCount; i++) {
+                copy.putPoint(i, x(i), y(i));
+            }
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            FunctionPoint[] points = new FunctionPoint[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                points[i] = new FunctionPoint(x(i), y(i));
+            }
+            return new MappedTabulatedFunction(points);
+        }
+    }
+
+    @Override
+    public Iterator<FunctionPoint> iterator() {
+        return new Iterator<FunctionPoint>() {
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < pointsCount;
+            }
+
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Больше элементов нет");
+                }
+                FunctionPoint p = new FunctionPoint(x(currentIndex), y(currentIndex));
+                currentIndex++;
+                return p;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Удаление не поддерживается");
+            }
+        };
+    }
+
+    public static class MappedTabulatedFunctionFactory implements TabulatedFunctionFactory {
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX,
+                                                         double rightX,
+                                                         int pointsCount) {
+            return new MappedTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX,
+                                                         double rightX,
+                                                         double[] values) {
+            return new MappedTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new MappedTabulatedFunction(points);
+        }
+
+        @Override
+        public TabulatedFunctionBuilder createTabulatedFunctionBuilder(int expectedPointsCount) {
+            MappedTabulatedFunction function = new MappedTabulatedFunction();
+            function.allocate(Math.max(expectedPointsCount, 2));
+
+            return new AbstractTabulatedFunctionBuilder() {
+                @Override
+                void append(int index, double x, double y) {
+                    function.ensureCapacity(index + 1);
+                    function.putPoint(index, x, y);
+                }
+
+                @Override
+                TabulatedFunction finish(int pointsCount) {
+                    function.pointsCount = pointsCount;
+                    return function;
+                }
+            };
+        }
+    }
+}
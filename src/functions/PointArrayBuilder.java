@@ -0,0 +1,42 @@
+package functions;
+
+import java.util.Arrays;
+
+// Построитель поверх двух массивов double; готовые массивы отдаются finish без копирования.
+abstract class PointArrayBuilder extends AbstractTabulatedFunctionBuilder {
+
+    private double[] xs;
+    private double[] ys;
+
+    PointArrayBuilder(int expectedPointsCount) {
+        int capacity = Math.max(expectedPointsCount, 2);
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+    }
+
+    @Override
+    final void append(int index, double x, double y) {
+        if (index == xs.length) {
+            int newCapacity = index + (index >> 1) + 1;
+            xs = Arrays.copyOf(xs, newCapacity);
+            ys = Arrays.copyOf(ys, newCapacity);
+        }
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    @Override
+    final TabulatedFunction finish(int pointsCount) {
+        return finish(xs, ys, pointsCount);
+    }
+
+    abstract TabulatedFunction finish(double[] xs, double[] ys, int pointsCount);
+
+    static FunctionPoint[] toPoints(double[] xs, double[] ys, int pointsCount) {
+        FunctionPoint[] points = new FunctionPoint[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            points[i] = new FunctionPoint(xs[i], ys[i]);
+        }
+        return points;
+    }
+}
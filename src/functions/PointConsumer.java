@@ -0,0 +1,10 @@
+package functions;
+
+import java.io.IOException;
+
+// Получатель точек при однопроходном чтении: точки приходят по одной в порядке файла.
+@FunctionalInterface
+public interface PointConsumer {
+
+    void accept(double x, double y) throws IOException;
+}
@@ -0,0 +1,74 @@
+package functions;
+
+final class ScalarKernels implements BatchKernels {
+
+    @Override
+    public void exp(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.exp(xs[i]);
+        }
+    }
+
+    @Override
+    public void log(double[] xs, double[] out, int from, int to, double logBase) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.log(xs[i]) / logBase;
+        }
+    }
+
+    @Override
+    public void sin(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.sin(xs[i]);
+        }
+    }
+
+    @Override
+    public void cos(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.cos(xs[i]);
+        }
+    }
+
+    @Override
+    public void tan(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.tan(xs[i]);
+        }
+    }
+
+    @Override
+    public void add(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        for (int i = 0; i < length; i++) {
+            a[aFrom + i] += b[bFrom + i];
+        }
+    }
+
+    @Override
+    public void mul(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        for (int i = 0; i < length; i++) {
+            a[aFrom + i] *= b[bFrom + i];
+        }
+    }
+
+    @Override
+    public void addScalar(double[] xs, double[] out, int from, int to, double c) {
+        for (int i = from; i < to; i++) {
+            out[i] = xs[i] + c;
+        }
+    }
+
+    @Override
+    public void mulScalar(double[] xs, double[] out, int from, int to, double c) {
+        for (int i = from; i < to; i++) {
+            out[i] = xs[i] * c;
+        }
+    }
+
+    @Override
+    public void divScalar(double[] xs, double[] out, int from, int to, double c) {
+        for (int i = from; i < to; i++) {
+            out[i] = xs[i] / c;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package functions;
+
+import java.math.BigInteger;
+
+// Кратчайшая запись double, которая читается обратно в то же значение (алгоритм Schubfach).
+// Вывод совпадает с Double.toString начиная с JDK 19: 1.0E-5, 0.001, 1234567.0, 1.0E7,
+// но пишется прямо в char[] без промежуточных String.
+final class ShortestDoubleFormat {
+
+    // Самая длинная запись: -2.2250738585072014E-308.
+    static final int MAX_CHARS = 24;
+
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long T_MASK = C_MIN - 1;
+    private static final int BQ_MASK = 0x7FF;
+    private static final int C_TINY = 3;
+    private static final int H = 17;
+
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final int MASK_28 = (1 << 28) - 1;
+
+    // g(k) = floor(10^-k * 2^-r) + 1, где 2^125 <= 10^-k * 2^-r < 2^126; хранится как g1 * 2^63 + g0.
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+    private static final long[] POW10 = new long[H + 1];
+
+    static {
+        BigInteger ten = BigInteger.TEN;
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int shift = 125 - flog2pow10(-k);
+            BigInteger g;
+            if (k <= 0) {
+                BigInteger power = ten.pow(-k);
+                g = shift >= 0 ? power.shiftLeft(shift) : power.shiftRight(-shift);
+            } else {
+                g = BigInteger.ONE.shiftLeft(shift).divide(ten.pow(k));
+            }
+            g = g.add(BigInteger.ONE);
+
+            G[2 * (k - K_MIN)] = g.shiftRight(63).longValue();
+            G[2 * (k - K_MIN) + 1] = g.longValue() & MASK_63;
+        }
+
+        POW10[0] = 1;
+        for (int i = 1; i <= H; i++) {
+            POW10[i] = 10 * POW10[i - 1];
+        }
+    }
+
+    private ShortestDoubleFormat() {
+    }
+
+    // Пишет v в buffer с позиции position и возвращает позицию после последнего символа.
+    static int format(double v, char[] buffer, int position) {
+        long bits = Double.doubleToRawLongBits(v);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+
+        if (bq == BQ_MASK) {
+            if (t != 0) {
+                return append(buffer, position, "NaN");
+            }
+            return append(buffer, position, bits > 0 ? "Infinity" : "-Infinity");
+        }
+
+        if (bits < 0) {
+            buffer[position++] = '-';
+        }
+
+        if (bq != 0) {
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            // Целые значения до 2^53 - без деления.
+            if (0 < mq && mq < P) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, buffer, position);
+                }
+            }
+            return toDecimal(-mq, c, 0, buffer, position);
+        }
+
+        if (t != 0) {
+            return t < C_TINY
+                    ? toDecimal(Q_MIN, 10 * t, -1, buffer, position)
+                    : toDecimal(Q_MIN, t, 0, buffer, position);
+        }
+
+        return append(buffer, position, "0.0");
+    }
+
+    private static int toDecimal(int q, long c, int dk, char[] buffer, int position) {
+        int out = (int) c & 1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN || q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        long g1 = G[2 * (k - K_MIN)];
+        long g0 = G[2 * (k - K_MIN) + 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, buffer, position);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, buffer, position);
+        }
+
+        long cmp = vb - ((s + t) << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, buffer, position);
+    }
+
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (((z & MASK_63) + MASK_63) >>> 63);
+    }
+
+    // f * 10^e: нормируем f до 17 цифр и выбираем обычную или научную запись.
+    private static int toChars(long f, int e, char[] buffer, int position) {
+        int len = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+        if (f >= POW10[len]) {
+            len++;
+        }
+
+        f *= POW10[H - len];
+        e += len;
+
+        long hm = Math.multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        int l = (int) (f - 100_000_000L * hm);
+        int h = (int) (hm * 1_441_151_881L >>> 57);
+        int m = (int) (hm - 100_000_000 * h);
+
+        if (0 < e && e <= 7) {
+            buffer[position++] = (char) ('0' + h);
+            int y = y(m);
+            int i = 1;
+            for (; i < e; i++) {
+                int d = 10 * y;
+                buffer[position++] = (char) ('0' + (d >>> 28));
+                y = d & MASK_28;
+            }
+            buffer[position++] = '.';
+            for (; i <= 8; i++) {
+                int d = 10 * y;
+                buffer[position++] = (char) ('0' + (d >>> 28));
+                y = d & MASK_28;
+            }
+            return lowDigits(l, buffer, position);
+        }
+
+        if (-3 < e && e <= 0) {
+            buffer[position++] = '0';
+            buffer[position++] = '.';
+            for (; e < 0; e++) {
+                buffer[position++] = '0';
+            }
+            buffer[position++] = (char) ('0' + h);
+            position = append8Digits(m, buffer, position);
+            return lowDigits(l, buffer, position);
+        }
+
+        buffer[position++] = (char) ('0' + h);
+        buffer[position++] = '.';
+        position = append8Digits(m, buffer, position);
+        position = lowDigits(l, buffer, position);
+        return exponent(e - 1, buffer, position);
+    }
+
+    private static int lowDigits(int l, char[] buffer, int position) {
+        if (l != 0) {
+            position = append8Digits(l, buffer, position);
+        }
+        // Хвостовые нули убираются, но одна цифра после точки остаётся.
+        while (buffer[position - 1] == '0') {
+            position--;
+        }
+        if (buffer[position - 1] == '.') {
+            position++;
+        }
+        return position;
+    }
+
+    // Восемь цифр слева направо без деления: y - дробь a / 10^8 в формате 4.28.
+    private static int append8Digits(int a, char[] buffer, int position) {
+        int y = y(a);
+        for (int i = 0; i < 8; i++) {
+            int d = 10 * y;
+            buffer[position++] = (char) ('0' + (d >>> 28));
+            y = d & MASK_28;
+        }
+        return position;
+    }
+
+    private static int y(int a) {
+        return (int) (Math.multiplyHigh((long) (a + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+    }
+
+    private static int exponent(int e, char[] buffer, int position) {
+        buffer[position++] = 'E';
+        if (e < 0) {
+            buffer[position++] = '-';
+            e = -e;
+        }
+        if (e >= 100) {
+            int d = e * 1_311 >>> 17;
+            buffer[position++] = (char) ('0' + d);
+            e -= 100 * d;
+            d = e * 103 >>> 10;
+            buffer[position++] = (char) ('0' + d);
+            buffer[position++] = (char) ('0' + e - 10 * d);
+        } else if (e >= 10) {
+            int d = e * 103 >>> 10;
+            buffer[position++] = (char) ('0' + d);
+            buffer[position++] = (char) ('0' + e - 10 * d);
+        } else {
+            buffer[position++] = (char) ('0' + e);
+        }
+        return position;
+    }
+
+    private static int append(char[] buffer, int position, String text) {
+        text.getChars(0, text.length(), buffer, position);
+        return position + text.length();
+    }
+
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+}
@@ -0,0 +1,13 @@
+package functions;
+
+// Построитель табулированной функции из точек, приходящих по возрастанию x.
+// Порядок проверяется при добавлении каждой точки, а не после чтения всего файла.
+public interface TabulatedFunctionBuilder extends PointConsumer {
+
+    @Override
+    void accept(double x, double y);
+
+    int getPointsCount();
+
+    TabulatedFunction build();
+}
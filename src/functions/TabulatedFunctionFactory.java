@@ -11,4 +11,16 @@ public interface TabulatedFunctionFactory {
                                               double[] values);
 
     TabulatedFunction createTabulatedFunction(FunctionPoint[] points);
+
+    // Для чтения точек по одной. По умолчанию точки копятся в массивах double
+    // и в конце идут в createTabulatedFunction(FunctionPoint[]);
+    // фабрики пакета пишут точки сразу в своё представление.
+    default TabulatedFunctionBuilder createTabulatedFunctionBuilder(int expectedPointsCount) {
+        return new PointArrayBuilder(expectedPointsCount) {
+            @Override
+            TabulatedFunction finish(double[] xs, double[] ys, int pointsCount) {
+                return createTabulatedFunction(toPoints(xs, ys, pointsCount));
+            }
+        };
+    }
 }
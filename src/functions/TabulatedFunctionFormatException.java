@@ -0,0 +1,24 @@
+package functions;
+
+import java.io.IOException;
+
+public class TabulatedFunctionFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final long line;
+    private final long column;
+
+    public TabulatedFunctionFormatException(String message, long line, long column) {
+        super("Строка " + line + ", столбец " + column + ": " + message);
+        this.line = line;
+        this.column = column;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public long getColumn() {
+        return column;
+    }
+}
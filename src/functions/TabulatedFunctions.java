@@ -1,14 +1,27 @@
 package functions;
 
 import java.io.*;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.IntFunction;
 
 public class TabulatedFunctions {
 
+    // Отображаемый кусок файла - не больше 1 ГиБ, копирование - пачками по 8192 точки.
+    private static final int MAPPED_SEGMENT_POINTS = 1 << 26;
+    private static final int MAPPED_CHUNK_POINTS = 1 << 13;
+    private static final int TEXT_BLOCK_CHARS = 1 << 16;
+
     private TabulatedFunctions() {
     }
 
+    // По умолчанию равномерные сетки хранятся без массива x;
+    // неравномерные точки фабрика сама отдаёт DoubleArrayTabulatedFunction.
     private static TabulatedFunctionFactory factory =
-            new ArrayTabulatedFunction.ArrayTabulatedFunctionFactory();
+            new UniformTabulatedFunction.UniformTabulatedFunctionFactory();
 
     public static void setTabulatedFunctionFactory(TabulatedFunctionFactory newFactory) {
         if (newFactory == null) {
@@ -33,6 +46,10 @@ public class TabulatedFunctions {
         return factory.createTabulatedFunction(points);
     }
 
+    public static TabulatedFunctionBuilder createTabulatedFunctionBuilder(int expectedPointsCount) {
+        return factory.createTabulatedFunctionBuilder(expectedPointsCount);
+    }
+
     public static TabulatedFunction tabulate(Function function,
                                              double leftX,
                                              double rightX,
@@ -49,13 +66,45 @@ public class TabulatedFunctions {
         double x = leftX;
 
         for (int i = 0; i < pointsCount; i++) {
-            values[i] = function.getFunctionValue(x);
+            values[i] = x;
             x += step;
         }
+        function.evaluate(values, values, 0, pointsCount);
 
         return createTabulatedFunction(leftX, rightX, values);
     }
 
+    // Точный интеграл кусочно-линейной функции по её узлам.
+    public static double integrate(TabulatedFunction function, double leftX, double rightX) {
+        if (function instanceof Integrable) {
+            return ((Integrable) function).integrate(leftX, rightX);
+        }
+        if (leftX > rightX) {
+            return -integrate(function, rightX, leftX);
+        }
+        if (leftX < function.getLeftDomainBorder() || rightX > function.getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        double integral = 0.0;
+        Iterator<FunctionPoint> points = function.iterator();
+        FunctionPoint p1 = points.next();
+        while (points.hasNext() && p1.getX() < rightX) {
+            FunctionPoint p2 = points.next();
+            double x1 = p1.getX();
+            double x2 = p2.getX();
+            if (x2 > leftX) {
+                double from = Math.max(x1, leftX);
+                double to = Math.min(x2, rightX);
+                double yFrom = from == x1 ? p1.getY() : p1.getY() + (from - x1) * (p2.getY() - p1.getY()) / (x2 - x1);
+                double yTo = to == x2 ? p2.getY() : p1.getY() + (to - x1) * (p2.getY() - p1.getY()) / (x2 - x1);
+                integral += (yFrom + yTo) / 2.0 * (to - from);
+            }
+            p1 = p2;
+        }
+        return integral;
+    }
+
     public static void outputTabulatedFunction(TabulatedFunction function,
                                                OutputStream out) throws IOException {
         DataOutputStream dataOut = new DataOutputStream(out);
@@ -70,102 +119,223 @@ public class TabulatedFunctions {
         dataOut.flush();
     }
 
+    // Версионированный сжатый формат, см. CompressedTabulatedFormat.
+    public static void outputCompressedTabulatedFunction(TabulatedFunction function,
+                                                         OutputStream out) throws IOException {
+        CompressedTabulatedFormat.write(function, out);
+    }
+
+    // Строки собираются в одном char[] и уходят в out блоками по TEXT_BLOCK_CHARS,
+    // числа пишутся ShortestDoubleFormat - тот же текст, что дал бы Double.toString.
     public static void writeTabulatedFunction(TabulatedFunction function,
                                               Writer out) throws IOException {
-        BufferedWriter writer = new BufferedWriter(out);
+        String lineSeparator = System.lineSeparator();
+        int lineChars = 2 * ShortestDoubleFormat.MAX_CHARS + 1 + lineSeparator.length();
+        char[] block = new char[TEXT_BLOCK_CHARS + lineChars];
+        int position = 0;
 
         int n = function.getPointsCount();
-        writer.write(Integer.toString(n));
-        writer.newLine();
+        String count = Integer.toString(n) + lineSeparator;
+        count.getChars(0, count.length(), block, 0);
+        position += count.length();
 
         for (int i = 0; i < n; i++) {
-            writer.write(function.getPointX(i) + " " + function.getPointY(i));
-            writer.newLine();
+            position = ShortestDoubleFormat.format(function.getPointX(i), block, position);
+            block[position++] = ' ';
+            position = ShortestDoubleFormat.format(function.getPointY(i), block, position);
+            lineSeparator.getChars(0, lineSeparator.length(), block, position);
+            position += lineSeparator.length();
+
+            if (position >= TEXT_BLOCK_CHARS) {
+                out.write(block, 0, position);
+                position = 0;
+            }
         }
 
-        writer.flush();
+        out.write(block, 0, position);
+        out.flush();
     }
 
-    public static TabulatedFunction inputTabulatedFunction(InputStream in) throws IOException {
+    // Читатели передают точки получателю по одной: построителю фабрики
+    // или PointConsumer для однопроходной обработки без хранения точек.
+    private static <C extends PointConsumer> C inputPoints(InputStream in,
+                                                           IntFunction<C> consumers) throws IOException {
         DataInputStream dataIn = new DataInputStream(in);
 
         int n = dataIn.readInt();
-        FunctionPoint[] points = new FunctionPoint[n];
+        C consumer = consumers.apply(n);
 
         for (int i = 0; i < n; i++) {
-            points[i] = new FunctionPoint(
-                    dataIn.readDouble(),
-                    dataIn.readDouble()
-            );
+            double x = dataIn.readDouble();
+            consumer.accept(x, dataIn.readDouble());
         }
 
-        return createTabulatedFunction(points);
+        return consumer;
     }
 
-    public static TabulatedFunction readTabulatedFunction(Reader in) throws IOException {
-        StreamTokenizer tokenizer = new StreamTokenizer(in);
+    public static TabulatedFunction inputTabulatedFunction(InputStream in) throws IOException {
+        return inputPoints(in, TabulatedFunctions::createTabulatedFunctionBuilder).build();
+    }
 
-        tokenizer.nextToken();
-        int n = (int) tokenizer.nval;
+    public static void inputTabulatedFunction(InputStream in, PointConsumer consumer) throws IOException {
+        inputPoints(in, n -> consumer);
+    }
 
-        FunctionPoint[] points = new FunctionPoint[n];
+    // Тот же формат, что у outputTabulatedFunction, но файл отображается в память,
+    // а пары x, y читаются пачками через DoubleBuffer, без FunctionPoint на каждую
+    // точку. Построитель получает n заранее, так что у DoubleArrayTabulatedFunction
+    // точки сразу ложатся в массивы нужного размера.
+    private static <C extends PointConsumer> C mappedPoints(Path path,
+                                                            IntFunction<C> consumers) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Integer.BYTES) {
+                throw new EOFException("Файл слишком короткий для табулированной функции: " + path);
+            }
+
+            int n = channel.map(FileChannel.MapMode.READ_ONLY, 0, Integer.BYTES).getInt(0);
+            if (n < 0) {
+                throw new IllegalArgumentException("Количество точек не может быть отрицательным");
+            }
+            if (Integer.BYTES + 16L * n > size) {
+                throw new EOFException("В файле меньше точек, чем указано в заголовке: " + path);
+            }
+
+            C consumer = consumers.apply(n);
+            double[] chunk = new double[2 * Math.min(MAPPED_CHUNK_POINTS, n)];
+
+            for (int done = 0; done < n; ) {
+                int count = Math.min(MAPPED_SEGMENT_POINTS, n - done);
+                DoubleBuffer values = channel.map(FileChannel.MapMode.READ_ONLY,
+                        Integer.BYTES + 16L * done, 16L * count).asDoubleBuffer();
+
+                for (int i = 0; i < count; ) {
+                    int m = Math.min(MAPPED_CHUNK_POINTS, count - i);
+                    values.get(chunk, 0, 2 * m);
+                    for (int k = 0; k < m; k++) {
+                        consumer.accept(chunk[2 * k], chunk[2 * k + 1]);
+                    }
+                    i += m;
+                }
+                done += count;
+            }
+
+            return consumer;
+        }
+    }
 
-        for (int i = 0; i < n; i++) {
-            tokenizer.nextToken();
-            double x = tokenizer.nval;
+    public static TabulatedFunction inputTabulatedFunction(Path path) throws IOException {
+        return mappedPoints(path, TabulatedFunctions::createTabulatedFunctionBuilder).build();
+    }
+
+    public static TabulatedFunction inputTabulatedFunction(
+            Path path,
+            Class<? extends TabulatedFunction> clazz
+    ) throws IOException {
+        return mappedPoints(path, n -> createTabulatedFunctionBuilder(clazz, n)).build();
+    }
 
-            tokenizer.nextToken();
-            double y = tokenizer.nval;
+    public static void inputTabulatedFunction(Path path, PointConsumer consumer) throws IOException {
+        mappedPoints(path, n -> consumer);
+    }
+
+    // Вместо StreamTokenizer: он разбирает числа сам и теряет точность,
+    // а запись вида 1.0E-300 делит на число 1.0 и слово E-300.
+    // Нарушение порядка x сообщается с позицией этого x в файле.
+    private static <C extends PointConsumer> C readPoints(Reader in,
+                                                          IntFunction<C> consumers) throws IOException {
+        TabulatedTextParser parser = new TabulatedTextParser(in);
 
-            points[i] = new FunctionPoint(x, y);
+        int n = parser.nextInt();
+        if (n < 0) {
+            throw parser.error("количество точек не может быть отрицательным");
         }
 
-        return createTabulatedFunction(points);
+        C consumer = consumers.apply(n);
+
+        for (int i = 0; i < n; i++) {
+            double x = parser.nextDouble();
+            long line = parser.tokenLine();
+            long column = parser.tokenColumn();
+            double y = parser.nextDouble();
+            try {
+                consumer.accept(x, y);
+            } catch (IllegalArgumentException e) {
+                throw new TabulatedFunctionFormatException(e.getMessage() + ", x = " + x, line, column);
+            }
+        }
+
+        return consumer;
+    }
+
+    public static TabulatedFunction readTabulatedFunction(Reader in) throws IOException {
+        return readPoints(in, TabulatedFunctions::createTabulatedFunctionBuilder).build();
     }
 
     public static TabulatedFunction readTabulatedFunction(
             Reader in,
             Class<? extends TabulatedFunction> clazz
     ) throws IOException {
+        return readPoints(in, n -> createTabulatedFunctionBuilder(clazz, n)).build();
+    }
 
-        StreamTokenizer tokenizer = new StreamTokenizer(in);
-
-        tokenizer.nextToken();
-        int n = (int) tokenizer.nval;
+    public static void readTabulatedFunction(Reader in, PointConsumer consumer) throws IOException {
+        readPoints(in, n -> consumer);
+    }
 
-        FunctionPoint[] points = new FunctionPoint[n];
+    // Блоки декодируются по одному в буфер размером с блок.
+    private static <C extends PointConsumer> C inputCompressedPoints(InputStream in,
+                                                                     IntFunction<C> consumers) throws IOException {
+        CompressedTabulatedFormat.Decoder decoder = new CompressedTabulatedFormat.Decoder(in);
+
+        int n = decoder.getPointsCount();
+        C consumer = consumers.apply(n);
+
+        int blockPoints = Math.max(Math.min(decoder.getBlockPoints(), n), 1);
+        double[] xs = new double[blockPoints];
+        double[] ys = new double[blockPoints];
+        for (int count; (count = decoder.readBlock(xs, ys, 0)) > 0; ) {
+            for (int i = 0; i < count; i++) {
+                consumer.accept(xs[i], ys[i]);
+            }
+        }
 
-        for (int i = 0; i < n; i++) {
-            tokenizer.nextToken();
-            double x = tokenizer.nval;
+        return consumer;
+    }
 
-            tokenizer.nextToken();
-            double y = tokenizer.nval;
+    public static TabulatedFunction inputCompressedTabulatedFunction(InputStream in) throws IOException {
+        return inputCompressedPoints(in, TabulatedFunctions::createTabulatedFunctionBuilder).build();
+    }
 
-            points[i] = new FunctionPoint(x, y);
-        }
+    public static TabulatedFunction inputCompressedTabulatedFunction(
+            InputStream in,
+            Class<? extends TabulatedFunction> clazz
+    ) throws IOException {
+        return inputCompressedPoints(in, n -> createTabulatedFunctionBuilder(clazz, n)).build();
+    }
 
-        return createTabulatedFunction(clazz, points);
+    public static void inputCompressedTabulatedFunction(InputStream in, PointConsumer consumer) throws IOException {
+        inputCompressedPoints(in, n -> consumer);
     }
 
     public static TabulatedFunction inputTabulatedFunction(
             InputStream in,
             Class<? extends TabulatedFunction> clazz
     ) throws IOException {
+        return inputPoints(in, n -> createTabulatedFunctionBuilder(clazz, n)).build();
+    }
 
-        DataInputStream dataIn = new DataInputStream(in);
-
-        int n = dataIn.readInt();
-        FunctionPoint[] points = new FunctionPoint[n];
-
-        for (int i = 0; i < n; i++) {
-            points[i] = new FunctionPoint(
-                    dataIn.readDouble(),
-                    dataIn.readDouble()
-            );
-        }
-
-        return createTabulatedFunction(clazz, points);
+    // Точки копятся в массивах double и в конце идут в конструктор clazz(FunctionPoint[]).
+    public static TabulatedFunctionBuilder createTabulatedFunctionBuilder(
+            Class<? extends TabulatedFunction> clazz,
+            int expectedPointsCount
+    ) {
+        return new PointArrayBuilder(expectedPointsCount) {
+            @Override
+            TabulatedFunction finish(double[] xs, double[] ys, int pointsCount) {
+                return createTabulatedFunction(clazz, toPoints(xs, ys, pointsCount));
+            }
+        };
     }
 
     public static TabulatedFunction createTabulatedFunction(
@@ -230,9 +400,10 @@ public class TabulatedFunctions {
         double x = leftX;
 
         for (int i = 0; i < pointsCount; i++) {
-            values[i] = function.getFunctionValue(x);
+            values[i] = x;
             x += step;
         }
+        function.evaluate(values, values, 0, pointsCount);
 
         return createTabulatedFunction(clazz, leftX, rightX, values);
     }
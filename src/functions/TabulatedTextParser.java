@@ -0,0 +1,371 @@
+package functions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+// Разбор текстового формата writeTabulatedFunction: числа через пробельные символы.
+// Лексема разбирается прямо в буфере чтения, без String на каждое число.
+// double собирается точно: по Клингеру, когда мантисса и степень десяти представимы,
+// иначе по Айзелю-Лемиру через 128-битные степени пятёрки.
+// Больше 19 значащих цифр в выводе Double.toString не бывает - такой случай отдаётся Double.parseDouble.
+final class TabulatedTextParser {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_DIGITS = 19;
+    private static final int MAX_EXPONENT_DIGITS = 100_000;
+
+    private static final int MIN_POWER = -342;
+    private static final int MAX_POWER = 308;
+    private static final long[] POW5_HIGH = new long[MAX_POWER - MIN_POWER + 1];
+    private static final long[] POW5_LOW = new long[MAX_POWER - MIN_POWER + 1];
+
+    private static final double[] EXACT_POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Старшие 128 бит 5^q; для q < 0 - округлённое вверх приближение 5^q, нормированное так же.
+    static {
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = MIN_POWER; q <= MAX_POWER; q++) {
+            BigInteger value;
+            if (q >= 0) {
+                value = five.pow(q);
+            } else {
+                BigInteger power = five.pow(-q);
+                int z = power.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+            }
+
+            int excess = value.bitLength() - 128;
+            value = excess > 0 ? value.shiftRight(excess) : value.shiftLeft(-excess);
+            POW5_HIGH[q - MIN_POWER] = value.shiftRight(64).longValue();
+            POW5_LOW[q - MIN_POWER] = value.longValue();
+        }
+    }
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long consumed;
+
+    private long line = 1;
+    private long lineStart;
+
+    // Текущая лексема: либо кусок buffer, либо копия в token, если она пересекла границу буфера.
+    private char[] token = new char[64];
+    private char[] tokenChars;
+    private int tokenOffset;
+    private int tokenLength;
+    private long tokenLine;
+    private long tokenColumn;
+
+    TabulatedTextParser(Reader in) {
+        this.in = in;
+    }
+
+    int nextInt() throws IOException {
+        if (!nextToken()) {
+            throw endOfInput();
+        }
+
+        char[] s = tokenChars;
+        int i = tokenOffset;
+        int end = i + tokenLength;
+        boolean negative = s[i] == '-';
+        if (negative || s[i] == '+') {
+            i++;
+        }
+        if (i == end) {
+            throw error("ожидалось целое число");
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            int d = s[i] - '0';
+            if (d < 0 || d > 9) {
+                throw error("ожидалось целое число");
+            }
+            value = value * 10 + d;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw error("целое число вне допустимого диапазона");
+            }
+        }
+
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error("целое число вне допустимого диапазона");
+        }
+        return (int) value;
+    }
+
+    double nextDouble() throws IOException {
+        if (!nextToken()) {
+            throw endOfInput();
+        }
+
+        char[] s = tokenChars;
+        int i = tokenOffset;
+        int end = i + tokenLength;
+        boolean negative = s[i] == '-';
+        if (negative || s[i] == '+') {
+            i++;
+        }
+
+        if (i < end && (s[i] == 'N' || s[i] == 'I')) {
+            if (matches(s, i, end, "NaN")) {
+                return Double.NaN;
+            }
+            if (matches(s, i, end, "Infinity")) {
+                return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            throw error("ожидалось число");
+        }
+
+        // significand - первые 19 значащих цифр (беззнаковое 64-битное), exponent - степень десяти.
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        boolean truncated = false;
+
+        for (; i < end; i++) {
+            int d = s[i] - '0';
+            if (d < 0 || d > 9) {
+                break;
+            }
+            any = true;
+            if (digits < MAX_DIGITS) {
+                if (significand != 0 || d != 0) {
+                    significand = significand * 10 + d;
+                    digits++;
+                }
+            } else {
+                exponent++;
+                truncated |= d != 0;
+            }
+        }
+
+        if (i < end && s[i] == '.') {
+            for (i++; i < end; i++) {
+                int d = s[i] - '0';
+                if (d < 0 || d > 9) {
+                    break;
+                }
+                any = true;
+                if (digits < MAX_DIGITS) {
+                    if (significand != 0 || d != 0) {
+                        significand = significand * 10 + d;
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated |= d != 0;
+                }
+            }
+        }
+
+        if (!any) {
+            throw error("ожидалось число");
+        }
+
+        if (i < end && (s[i] == 'E' || s[i] == 'e')) {
+            i++;
+            boolean negativeExponent = i < end && s[i] == '-';
+            if (negativeExponent || (i < end && s[i] == '+')) {
+                i++;
+            }
+
+            int start = i;
+            int e = 0;
+            for (; i < end; i++) {
+                int d = s[i] - '0';
+                if (d < 0 || d > 9) {
+                    break;
+                }
+                if (e < MAX_EXPONENT_DIGITS) {
+                    e = e * 10 + d;
+                }
+            }
+            if (i == start) {
+                throw error("ожидалось число");
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+
+        if (i != end) {
+            throw error("ожидалось число");
+        }
+
+        if (truncated) {
+            return Double.parseDouble(new String(s, tokenOffset, tokenLength));
+        }
+
+        double value = toDouble(significand, exponent);
+        return negative ? -value : value;
+    }
+
+    // Позиция последней прочитанной лексемы: её запоминают, чтобы сообщить об ошибке
+    // в x, которая обнаружится только после чтения y.
+    long tokenLine() {
+        return tokenLine;
+    }
+
+    long tokenColumn() {
+        return tokenColumn;
+    }
+
+    TabulatedFunctionFormatException error(String message) {
+        String text = new String(tokenChars, tokenOffset, Math.min(tokenLength, 32));
+        return new TabulatedFunctionFormatException(message + ", получено \"" + text + "\"", tokenLine, tokenColumn);
+    }
+
+    private TabulatedFunctionFormatException endOfInput() {
+        return new TabulatedFunctionFormatException("неожиданный конец файла",
+                line, consumed + position - lineStart + 1);
+    }
+
+    private static boolean matches(char[] s, int from, int end, String word) {
+        if (end - from != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (s[from + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // w * 10^q с округлением к ближайшему, w - беззнаковое и ненулевое при q в таблице.
+    private static double toDouble(long w, int q) {
+        if (w == 0 || q < MIN_POWER) {
+            return 0.0;
+        }
+        if ((w >>> 53) == 0 && q >= -22 && q <= 22) {
+            double d = (double) w;
+            return q < 0 ? d / EXACT_POW10[-q] : d * EXACT_POW10[q];
+        }
+        if (q > MAX_POWER) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        int index = q - MIN_POWER;
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        long high = Math.unsignedMultiplyHigh(w, POW5_HIGH[index]);
+        long low = w * POW5_HIGH[index];
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = Math.unsignedMultiplyHigh(w, POW5_LOW[index]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+
+        int upper = (int) (high >>> 63);
+        int shift = upper + 9;
+        long mantissa = high >>> shift;
+        int power2 = ((217706 * q) >> 16) + 63 + upper - lz + 1023;
+
+        if (power2 <= 0) {
+            if (-power2 + 1 >= 64) {
+                return 0.0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < (1L << 52) ? 0 : 1;
+            return Double.longBitsToDouble(((long) power2 << 52) | mantissa);
+        }
+
+        // Ровно посередине между двумя double - округление к чётному.
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        mantissa &= ~(1L << 52);
+
+        if (power2 >= 0x7FF) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Double.longBitsToDouble(((long) power2 << 52) | mantissa);
+    }
+
+    private boolean nextToken() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return false;
+            }
+            char c = buffer[position];
+            if (c > ' ') {
+                break;
+            }
+            position++;
+            if (c == '\n') {
+                line++;
+                lineStart = consumed + position;
+            }
+        }
+
+        tokenLine = line;
+        tokenColumn = consumed + position - lineStart + 1;
+
+        int start = position;
+        while (position < limit && buffer[position] > ' ') {
+            position++;
+        }
+        if (position < limit) {
+            tokenChars = buffer;
+            tokenOffset = start;
+            tokenLength = position - start;
+            return true;
+        }
+
+        int length = 0;
+        while (true) {
+            int count = position - start;
+            if (length + count > token.length) {
+                token = Arrays.copyOf(token, Math.max(2 * token.length, length + count));
+            }
+            System.arraycopy(buffer, start, token, length, count);
+            length += count;
+
+            if (position < limit || !fill()) {
+                break;
+            }
+            start = position;
+            while (position < limit && buffer[position] > ' ') {
+                position++;
+            }
+        }
+
+        tokenChars = token;
+        tokenOffset = 0;
+        tokenLength = length;
+        return true;
+    }
+
+    private boolean fill() throws IOException {
+        consumed += limit;
+        position = 0;
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+}
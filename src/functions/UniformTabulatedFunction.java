@@ -0,0 +1,517 @@
+package functions;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+
+public class UniformTabulatedFunction implements TabulatedFunction, Integrable, Serializable, Cloneable {
+
+    private static final long serialVersionUID = 1L;
+
+    // x точки i вычисляется как leftX + step * (origin + i), y хранятся в ys.
+    // Если равномерность сетки нарушена, точки переносятся в general и все методы
+    // делегируются ему.
+    private double leftX;
+    private double step;
+    private int origin;
+    private double[] ys;
+    private int pointsCount;
+    private DoubleArrayTabulatedFunction general;
+    private transient volatile double[] prefix;
+
+    public UniformTabulatedFunction(double leftX,
+                                    double rightX,
+                                    int pointsCount) {
+        this(leftX, rightX, new double[Math.max(pointsCount, 0)]);
+    }
+
+    public UniformTabulatedFunction(double leftX,
+                                    double rightX,
+                                    double[] values) {
+        if (leftX >= rightX || values.length < 2) {
+            throw new IllegalArgumentException("Некорректные границы или количество точек");
+        }
+
+        this.leftX = leftX;
+        this.step = (rightX - leftX) / (values.length - 1);
+        this.pointsCount = values.length;
+        this.ys = values.clone();
+    }
+
+    public UniformTabulatedFunction(FunctionPoint[] sourcePoints) {
+        if (sourcePoints.length < 2) {
+            throw new IllegalArgumentException("Должно быть не меньше двух точек");
+        }
+
+        for (int i = 1; i < sourcePoints.length; i++) {
+            if (sourcePoints[i - 1].getX() >= sourcePoints[i].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию x");
+            }
+        }
+
+        this.pointsCount = sourcePoints.length;
+        this.leftX = sourcePoints[0].getX();
+        this.step = uniformStep(sourcePoints);
+
+        if (Double.isNaN(step)) {
+            this.general = new DoubleArrayTabulatedFunction(sourcePoints);
+            return;
+        }
+
+        this.ys = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            ys[i] = sourcePoints[i].getY();
+        }
+    }
+
+    UniformTabulatedFunction(double leftX, double step, double[] ys, int pointsCount) {
+        this.leftX = leftX;
+        this.step = step;
+        this.ys = ys;
+        this.pointsCount = pointsCount;
+    }
+
+    static boolean isUniform(FunctionPoint[] points) {
+        return !Double.isNaN(uniformStep(points));
+    }
+
+    private static double uniformStep(FunctionPoint[] points) {
+        double[] xs = new double[points.length];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = points[i].getX();
+        }
+        return uniformStep(xs, xs.length);
+    }
+
+    private static double uniformStep(double[] xs, int n) {
+        double left = xs[0];
+        double[] candidates = {
+                (xs[n - 1] - left) / (n - 1),
+                xs[1] - left
+        };
+
+        for (double candidate : candidates) {
+            int i = 1;
+            while (i < n && left + candidate * i == xs[i]) {
+                i++;
+            }
+            if (i == n) {
+                return candidate;
+            }
+        }
+
+        return Double.NaN;
+    }
+
+    public boolean isUniform() {
+        return general == null;
+    }
+
+    private double x(int index) {
+        return leftX + step * (origin + index);
+    }
+
+    private void toGeneral() {
+        double[] xs = new double[ys.length];
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = x(i);
+        }
+        general = new DoubleArrayTabulatedFunction(xs, ys, pointsCount);
+        ys = null;
+    }
+
+    public double getLeftDomainBorder() {
+        if (general != null) {
+            return general.getLeftDomainBorder();
+        }
+        return x(0);
+    }
+
+    public double getRightDomainBorder() {
+        if (general != null) {
+            return general.getRightDomainBorder();
+        }
+        return x(pointsCount - 1);
+    }
+
+    public double getFunctionValue(double x) {
+        if (general != null) {
+            return general.getFunctionValue(x);
+        }
+
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        return valueInSegment(findSegment(x), x);
+    }
+
+    private int findSegment(double x) {
+        int i = (int) ((x - x(0)) / step);
+        if (i > pointsCount - 2) {
+            i = pointsCount - 2;
+        }
+        if (i > 0 && x < x(i)) {
+            i--;
+        } else if (i < pointsCount - 2 && x >= x(i + 1)) {
+            i++;
+        }
+        return i;
+    }
+
+    private double valueInSegment(int i, double x) {
+        double x1 = x(i);
+        double x2 = x(i + 1);
+
+        if (x == x1) {
+            return ys[i];
+        }
+        if (x == x2) {
+            return ys[i + 1];
+        }
+
+        return ys[i] + (x - x1) * (ys[i + 1] - ys[i]) / (x2 - x1);
+    }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        if (general != null) {
+            general.evaluate(xs, out, from, to);
+            return;
+        }
+
+        for (int i = from; i < to; i++) {
+            out[i] = getFunctionValue(xs[i]);
+        }
+    }
+
+    @Override
+    public double integrate(double leftX, double rightX) {
+        if (general != null) {
+            return general.integrate(leftX, rightX);
+        }
+        if (leftX > rightX) {
+            return -integrate(rightX, leftX);
+        }
+        if (leftX < getLeftDomainBorder() || rightX > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        double[] prefix = prefixIntegrals();
+        int i = findSegment(leftX);
+        int j = findSegment(rightX);
+        return (prefix[j] - prefix[i]) + (partialIntegral(j, rightX) - partialIntegral(i, leftX));
+    }
+
+    // prefix[i] - интеграл от x(0) до x(i); сбрасывается при любом изменении точек.
+    private double[] prefixIntegrals() {
+        double[] prefix = this.prefix;
+        if (prefix == null) {
+            prefix = new double[pointsCount];
+            for (int i = 1; i < pointsCount; i++) {
+                prefix[i] = prefix[i - 1] + (ys[i - 1] + ys[i]) / 2.0 * (x(i) - x(i - 1));
+            }
+            this.prefix = prefix;
+        }
+        return prefix;
+    }
+
+    private double partialIntegral(int i, double x) {
+        return (ys[i] + valueInSegment(i, x)) / 2.0 * (x - x(i));
+    }
+
+    public int getPointsCount() {
+        if (general != null) {
+            return general.getPointsCount();
+        }
+        return pointsCount;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс точки вне диапазона: " + index);
+        }
+    }
+
+    private void checkX(int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && x <= x(index - 1)) {
+            throw new InappropriateFunctionPointException("x новой точки выходит за левый интервал");
+        }
+
+        if (index < pointsCount - 1 && x >= x(index + 1)) {
+            throw new InappropriateFunctionPointException("x новой точки выходит за правый интервал");
+        }
+    }
+
+    public FunctionPoint getPoint(int index) {
+        if (general != null) {
+            return general.getPoint(index);
+        }
+        checkIndex(index);
+        return new FunctionPoint(x(index), ys[index]);
+    }
+
+    public void setPoint(int index,
+                         FunctionPoint point) throws InappropriateFunctionPointException {
+        prefix = null;
+        if (general == null) {
+            checkIndex(index);
+            checkX(index, point.getX());
+
+            if (point.getX() == x(index)) {
+                ys[index] = point.getY();
+                return;
+            }
+            toGeneral();
+        }
+        general.setPoint(index, point);
+    }
+
+    public double getPointX(int index) {
+        if (general != null) {
+            return general.getPointX(index);
+        }
+        checkIndex(index);
+        return x(index);
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        prefix = null;
+        if (general == null) {
+            checkIndex(index);
+            checkX(index, x);
+
+            if (x == x(index)) {
+                return;
+            }
+            toGeneral();
+        }
+        general.setPointX(index, x);
+    }
+
+    public double getPointY(int index) {
+        if (general != null) {
+            return general.getPointY(index);
+        }
+        checkIndex(index);
+        return ys[index];
+    }
+
+    public void setPointY(int index, double y) {
+        prefix = null;
+        if (general != null) {
+            general.setPointY(index, y);
+            return;
+        }
+        checkIndex(index);
+        ys[index] = y;
+    }
+
+    public void deletePoint(int index) {
+        prefix = null;
+        if (general != null) {
+            general.deletePoint(index);
+            return;
+        }
+
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Нельзя удалять точку: точек меньше трёх");
+        }
+
+        checkIndex(index);
+
+        if (index == 0) {
+            System.arraycopy(ys, 1, ys, 0, pointsCount - 1);
+            origin++;
+            pointsCount--;
+        } else if (index == pointsCount - 1) {
+            pointsCount--;
+        } else {
+            toGeneral();
+            general.deletePoint(index);
+        }
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        prefix = null;
+        if (general != null) {
+            general.addPoint(point);
+            return;
+        }
+
+        double x = point.getX();
+        int nearest = (int) Math.rint((x - x(0)) / step);
+        for (int i = Math.max(nearest - 1, 0); i <= nearest + 1 && i < pointsCount; i++) {
+            if (x(i) == x) {
+                throw new InappropriateFunctionPointException("Точка с таким x уже существует: " + x);
+            }
+        }
+
+        if (x == x(-1) || x == x(pointsCount)) {
+            if (pointsCount == ys.length) {
+                ys = Arrays.copyOf(ys, pointsCount + (pointsCount >> 1) + 1);
+            }
+
+            if (x == x(-1)) {
+                System.arraycopy(ys, 0, ys, 1, pointsCount);
+                origin--;
+                ys[0] = point.getY();
+            } else {
+                ys[pointsCount] = point.getY();
+            }
+            pointsCount++;
+            return;
+        }
+
+        toGeneral();
+        general.addPoint(point);
+    }
+
+    @Override
+    public String toString() {
+        if (general != null) {
+            return general.toString();
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append('(').append(x(i)).append("; ").append(ys[i]).append(')');
+            if (i != pointsCount - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (general != null) {
+            return general.equals(o);
+        }
+        if (!(o instanceof TabulatedFunction)) return false;
+        TabulatedFunction other = (TabulatedFunction) o;
+
+        if (this.getPointsCount() != other.getPointsCount()) {
+            return false;
+        }
+
+        double eps = 1e-9;
+        for (int i = 0; i < pointsCount; i++) {
+            if (!(Math.abs(x(i) - other.getPointX(i)) < eps
+                    && Math.abs(ys[i] - other.getPointY(i)) < eps)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        if (general != null) {
+            return general.hashCode();
+        }
+
+        int h = pointsCount;
+        for (int i = 0; i < pointsCount; i++) {
+            long bits = Double.doubleToLongBits(x(i)) ^ Double.doubleToLongBits(ys[i]);
+            h ^= (int) (bits ^ (bits >>> 32));
+        }
+        return h;
+    }
+
+    @Override
+    public Object clone() {
+        try {
+            UniformTabulatedFunction copy = (UniformTabulatedFunction) super.clone();
+            if (general != null) {
+                copy.general = (DoubleArrayTabulatedFunction) general.clone();
+            } else {
+                copy.ys = Arrays.copyOf(ys, pointsCount);
+            }
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            FunctionPoint[] points = new FunctionPoint[getPointsCount()];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = getPoint(i);
+            }
+            return new UniformTabulatedFunction(points);
+        }
+    }
+
+    @Override
+    public Iterator<FunctionPoint> iterator() {
+        if (general != null) {
+            return general.iterator();
+        }
+
+        return new Iterator<FunctionPoint>() {
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < pointsCount;
+            }
+
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Больше элементов нет");
+                }
+                FunctionPoint p = new FunctionPoint(x(currentIndex), ys[currentIndex]);
+                currentIndex++;
+                return p;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Удаление не поддерживается");
+            }
+        };
+    }
+
+    public static class UniformTabulatedFunctionFactory implements TabulatedFunctionFactory {
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX,
+                                                         double rightX,
+                                                         int pointsCount) {
+            return new UniformTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX,
+                                                         double rightX,
+                                                         double[] values) {
+            return new UniformTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            if (points.length >= 2 && !isUniform(points)) {
+                return new DoubleArrayTabulatedFunction(points);
+            }
+            return new UniformTabulatedFunction(points);
+        }
+
+        // Как и createTabulatedFunction(FunctionPoint[]): неравномерная сетка - DoubleArrayTabulatedFunction.
+        @Override
+        public TabulatedFunctionBuilder createTabulatedFunctionBuilder(int expectedPointsCount) {
+            return new PointArrayBuilder(expectedPointsCount) {
+                @Override
+                TabulatedFunction finish(double[] xs, double[] ys, int pointsCount) {
+                    double step = uniformStep(xs, pointsCount);
+                    if (Double.isNaN(step)) {
+                        return new DoubleArrayTabulatedFunction(xs, ys, pointsCount);
+                    }
+                    return new UniformTabulatedFunction(xs[0], step, ys, pointsCount);
+                }
+            };
+        }
+    }
+}
@@ -1,9 +1,23 @@
 package functions.basic;
 
-public class Cos extends TrigonometricFunction {
+import functions.Integrable;
+import functions.Kernels;
+
+public class Cos extends TrigonometricFunction implements Integrable {
 
     @Override
     public double getFunctionValue(double x) {
         return Math.cos(x);
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        Kernels.cos(xs, out, from, to);
+    }
+
+    // sin(b) - sin(a) без вычитания близких значений.
+    @Override
+    public double integrate(double leftX, double rightX) {
+        return 2.0 * Math.cos((leftX + rightX) / 2.0) * Math.sin((rightX - leftX) / 2.0);
+    }
 }
@@ -1,8 +1,10 @@
 package functions.basic;
 
 import functions.Function;
+import functions.Integrable;
+import functions.Kernels;
 
-public class Exp implements Function {
+public class Exp implements Function, Integrable {
 
     @Override
     public double getLeftDomainBorder() {
@@ -18,4 +20,22 @@ public class Exp implements Function {
     public double getFunctionValue(double x) {
         return Math.exp(x);
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        Kernels.exp(xs, out, from, to);
+    }
+
+    @Override
+    public double integrate(double leftX, double rightX) {
+        if (leftX > rightX) {
+            return -integrate(rightX, leftX);
+        }
+        if (leftX == rightX) {
+            return 0.0;
+        }
+        // e^r * (1 - e^(l - r)): множитель считается от верхнего предела, иначе при
+        // далёком отрицательном l получается 0 * Infinity = NaN.
+        return -Math.exp(rightX) * Math.expm1(leftX - rightX);
+    }
 }
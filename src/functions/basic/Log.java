@@ -1,8 +1,10 @@
 package functions.basic;
 
 import functions.Function;
+import functions.Integrable;
+import functions.Kernels;
 
-public class Log implements Function {
+public class Log implements Function, Integrable {
 
     private final double base;
 
@@ -10,6 +12,10 @@ public class Log implements Function {
         this.base = base;
     }
 
+    public double getBase() {
+        return base;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return 0.0;
@@ -24,4 +30,25 @@ public class Log implements Function {
     public double getFunctionValue(double x) {
         return Math.log(x) / Math.log(base);
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        Kernels.log(xs, out, from, to, Math.log(base));
+    }
+
+    @Override
+    public double integrate(double leftX, double rightX) {
+        if (leftX > rightX) {
+            return -integrate(rightX, leftX);
+        }
+        if (leftX < 0.0) {
+            return Double.NaN;
+        }
+        return (antiderivative(rightX) - antiderivative(leftX)) / Math.log(base);
+    }
+
+    // x * (ln x - 1), доопределённая нулём в x = 0.
+    private static double antiderivative(double x) {
+        return x == 0.0 ? 0.0 : x * (Math.log(x) - 1.0);
+    }
 }
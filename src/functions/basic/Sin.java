@@ -1,9 +1,23 @@
 package functions.basic;
 
-public class Sin extends TrigonometricFunction {
+import functions.Integrable;
+import functions.Kernels;
+
+public class Sin extends TrigonometricFunction implements Integrable {
 
     @Override
     public double getFunctionValue(double x) {
         return Math.sin(x);
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        Kernels.sin(xs, out, from, to);
+    }
+
+    // cos(a) - cos(b) без вычитания близких значений.
+    @Override
+    public double integrate(double leftX, double rightX) {
+        return 2.0 * Math.sin((leftX + rightX) / 2.0) * Math.sin((rightX - leftX) / 2.0);
+    }
 }
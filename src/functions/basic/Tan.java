@@ -1,9 +1,26 @@
 package functions.basic;
 
-public class Tan extends TrigonometricFunction {
+import functions.Integrable;
+import functions.Kernels;
+
+public class Tan extends TrigonometricFunction implements Integrable {
 
     @Override
     public double getFunctionValue(double x) {
         return Math.tan(x);
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        Kernels.tan(xs, out, from, to);
+    }
+
+    // ln|cos(a)| - ln|cos(b)|; если между a и b есть полюс pi/2 + k*pi, интеграл расходится.
+    @Override
+    public double integrate(double leftX, double rightX) {
+        if (Math.floor(leftX / Math.PI - 0.5) != Math.floor(rightX / Math.PI - 0.5)) {
+            return Double.NaN;
+        }
+        return Math.log(Math.abs(Math.cos(leftX) / Math.cos(rightX)));
+    }
 }
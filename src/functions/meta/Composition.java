@@ -12,6 +12,14 @@ public class Composition implements Function {
         this.inner = inner;
     }
 
+    public Function getOuter() {
+        return outer;
+    }
+
+    public Function getInner() {
+        return inner;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return inner.getLeftDomainBorder();
@@ -27,4 +35,10 @@ public class Composition implements Function {
         double innerValue = inner.getFunctionValue(x);
         return outer.getFunctionValue(innerValue);
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        inner.evaluate(xs, out, from, to);
+        outer.evaluate(out, out, from, to);
+    }
 }
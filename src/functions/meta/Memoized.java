@@ -0,0 +1,145 @@
+package functions.meta;
+
+import functions.Function;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class Memoized implements Function {
+
+    // Наборно-ассоциативный кэш: ключ (биты x) попадает в корзину из WAYS ячеек,
+    // при заполненной корзине вытесняется ячейка по алгоритму CLOCK.
+    private static final int WAYS = 4;
+    private static final int MAX_STRIPES = 64;
+    // Не больше 2^30 ячеек: так buckets * WAYS не переполняет int.
+    private static final int MAX_BUCKETS = 1 << 28;
+
+    private static final byte EMPTY = 0;
+    private static final byte PRESENT = 1;
+    private static final byte REFERENCED = 2;
+
+    private final Function f;
+    private final int bucketMask;
+    private final long[] keys;
+    private final double[] values;
+    private final byte[] states;
+    private final byte[] hands;
+    private final Object[] locks;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public Memoized(Function f, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ёмкость кэша должна быть положительной");
+        }
+
+        // (capacity - 1) / WAYS + 1 вместо (capacity + WAYS - 1) / WAYS: без переполнения у Integer.MAX_VALUE.
+        int buckets = Integer.highestOneBit(Math.min((capacity - 1) / WAYS + 1, MAX_BUCKETS));
+        if (buckets * WAYS < capacity && buckets < MAX_BUCKETS) {
+            buckets <<= 1;
+        }
+
+        this.f = f;
+        this.bucketMask = buckets - 1;
+        this.keys = new long[buckets * WAYS];
+        this.values = new double[buckets * WAYS];
+        this.states = new byte[buckets * WAYS];
+        this.hands = new byte[buckets];
+        this.locks = new Object[Math.min(buckets, MAX_STRIPES)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public Function getFunction() {
+        return f;
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return f.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return f.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        long key = Double.doubleToRawLongBits(x);
+        int bucket = bucket(key);
+        int first = bucket * WAYS;
+        Object lock = locks[bucket & (locks.length - 1)];
+
+        synchronized (lock) {
+            for (int i = first; i < first + WAYS; i++) {
+                if (states[i] != EMPTY && keys[i] == key) {
+                    states[i] = REFERENCED;
+                    hits.increment();
+                    return values[i];
+                }
+            }
+        }
+
+        misses.increment();
+        double y = f.getFunctionValue(x);
+
+        synchronized (lock) {
+            int victim = -1;
+            for (int i = first; i < first + WAYS; i++) {
+                if (states[i] == EMPTY) {
+                    victim = i;
+                    break;
+                }
+                if (keys[i] == key) {
+                    return y;
+                }
+            }
+
+            if (victim < 0) {
+                int hand = hands[bucket];
+                while (states[first + hand] == REFERENCED) {
+                    states[first + hand] = PRESENT;
+                    hand = (hand + 1) & (WAYS - 1);
+                }
+                victim = first + hand;
+                hands[bucket] = (byte) ((hand + 1) & (WAYS - 1));
+                evictions.increment();
+            }
+
+            keys[victim] = key;
+            values[victim] = y;
+            states[victim] = PRESENT;
+        }
+
+        return y;
+    }
+
+    private int bucket(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & bucketMask;
+    }
+}
@@ -1,6 +1,7 @@
 package functions.meta;
 
 import functions.Function;
+import functions.Kernels;
 
 public class Mult implements Function {
 
@@ -12,6 +13,14 @@ public class Mult implements Function {
         this.f2 = f2;
     }
 
+    public Function getFirst() {
+        return f1;
+    }
+
+    public Function getSecond() {
+        return f2;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return Math.max(f1.getLeftDomainBorder(), f2.getLeftDomainBorder());
@@ -26,4 +35,14 @@ public class Mult implements Function {
     public double getFunctionValue(double x) {
         return f1.getFunctionValue(x) * f2.getFunctionValue(x);
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        int n = to - from;
+        double[] second = new double[n];
+        System.arraycopy(xs, from, second, 0, n);
+        f2.evaluate(second, second, 0, n);
+        f1.evaluate(xs, out, from, to);
+        Kernels.mul(out, from, second, 0, n);
+    }
 }
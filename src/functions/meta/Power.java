@@ -12,6 +12,14 @@ public class Power implements Function {
         this.power = power;
     }
 
+    public Function getFunction() {
+        return f;
+    }
+
+    public double getPower() {
+        return power;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return f.getLeftDomainBorder();
@@ -26,4 +34,12 @@ public class Power implements Function {
     public double getFunctionValue(double x) {
         return Math.pow(f.getFunctionValue(x), power);
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        f.evaluate(xs, out, from, to);
+        for (int i = from; i < to; i++) {
+            out[i] = Math.pow(out[i], power);
+        }
+    }
 }
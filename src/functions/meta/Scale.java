@@ -1,8 +1,10 @@
 package functions.meta;
 
 import functions.Function;
+import functions.Integrable;
+import functions.Kernels;
 
-public class Scale implements Function {
+public class Scale implements Function, Integrable {
 
     private final Function f;
     private final double scaleX;
@@ -14,6 +16,18 @@ public class Scale implements Function {
         this.scaleY = scaleY;
     }
 
+    public Function getFunction() {
+        return f;
+    }
+
+    public double getScaleX() {
+        return scaleX;
+    }
+
+    public double getScaleY() {
+        return scaleY;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         double left = f.getLeftDomainBorder();
@@ -44,4 +58,25 @@ public class Scale implements Function {
         double originalY = f.getFunctionValue(originalX);
         return originalY * scaleY;
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        Kernels.divScalar(xs, out, from, to, scaleX);
+        f.evaluate(out, out, from, to);
+        Kernels.mulScalar(out, out, from, to, scaleY);
+    }
+
+    @Override
+    public boolean isIntegrable() {
+        return scaleX != 0.0 && f instanceof Integrable && ((Integrable) f).isIntegrable();
+    }
+
+    // Замена t = x / scaleX; при scaleX < 0 пределы меняются местами вместе со знаком.
+    @Override
+    public double integrate(double leftX, double rightX) {
+        if (!isIntegrable()) {
+            throw new UnsupportedOperationException("Первообразная функции неизвестна");
+        }
+        return scaleX * scaleY * ((Integrable) f).integrate(leftX / scaleX, rightX / scaleX);
+    }
 }
@@ -1,8 +1,10 @@
 package functions.meta;
 
 import functions.Function;
+import functions.Integrable;
+import functions.Kernels;
 
-public class Shift implements Function {
+public class Shift implements Function, Integrable {
 
     private final Function f;
     private final double shiftX;
@@ -14,6 +16,18 @@ public class Shift implements Function {
         this.shiftY = shiftY;
     }
 
+    public Function getFunction() {
+        return f;
+    }
+
+    public double getShiftX() {
+        return shiftX;
+    }
+
+    public double getShiftY() {
+        return shiftY;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return f.getLeftDomainBorder() + shiftX;
@@ -30,4 +44,24 @@ public class Shift implements Function {
         double originalY = f.getFunctionValue(originalX);
         return originalY + shiftY;
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        Kernels.addScalar(xs, out, from, to, -shiftX);
+        f.evaluate(out, out, from, to);
+        Kernels.addScalar(out, out, from, to, shiftY);
+    }
+
+    @Override
+    public boolean isIntegrable() {
+        return f instanceof Integrable && ((Integrable) f).isIntegrable();
+    }
+
+    @Override
+    public double integrate(double leftX, double rightX) {
+        if (!isIntegrable()) {
+            throw new UnsupportedOperationException("Первообразная функции неизвестна");
+        }
+        return ((Integrable) f).integrate(leftX - shiftX, rightX - shiftX) + shiftY * (rightX - leftX);
+    }
 }
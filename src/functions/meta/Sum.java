@@ -1,8 +1,10 @@
 package functions.meta;
 
 import functions.Function;
+import functions.Integrable;
+import functions.Kernels;
 
-public class Sum implements Function {
+public class Sum implements Function, Integrable {
 
     private final Function f1;
     private final Function f2;
@@ -12,6 +14,14 @@ public class Sum implements Function {
         this.f2 = f2;
     }
 
+    public Function getFirst() {
+        return f1;
+    }
+
+    public Function getSecond() {
+        return f2;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return Math.max(f1.getLeftDomainBorder(), f2.getLeftDomainBorder());
@@ -26,4 +36,28 @@ public class Sum implements Function {
     public double getFunctionValue(double x) {
         return f1.getFunctionValue(x) + f2.getFunctionValue(x);
     }
+
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        int n = to - from;
+        double[] second = new double[n];
+        System.arraycopy(xs, from, second, 0, n);
+        f2.evaluate(second, second, 0, n);
+        f1.evaluate(xs, out, from, to);
+        Kernels.add(out, from, second, 0, n);
+    }
+
+    @Override
+    public boolean isIntegrable() {
+        return f1 instanceof Integrable && ((Integrable) f1).isIntegrable()
+                && f2 instanceof Integrable && ((Integrable) f2).isIntegrable();
+    }
+
+    @Override
+    public double integrate(double leftX, double rightX) {
+        if (!isIntegrable()) {
+            throw new UnsupportedOperationException("Первообразная функции неизвестна");
+        }
+        return ((Integrable) f1).integrate(leftX, rightX) + ((Integrable) f2).integrate(leftX, rightX);
+    }
 }
@@ -0,0 +1,143 @@
+package threads;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.LongAdder;
+
+// События складываются в ограниченную очередь, а отдельный поток-писатель
+// забирает их пачками, форматирует без String.format и пишет в Writer,
+// сбрасывая буфер, когда очередь опустела. Если dropWhenFull, при полной
+// очереди событие отбрасывается и учитывается в getDropped(); иначе
+// вычислительный поток ждёт освобождения места.
+public class AsyncResultSink implements ResultSink {
+
+    private static final int BATCH_SIZE = 256;
+
+    private static final class Event {
+        final boolean result;
+        final double leftX;
+        final double rightX;
+        final double step;
+        final double value;
+
+        Event(boolean result, double leftX, double rightX, double step, double value) {
+            this.result = result;
+            this.leftX = leftX;
+            this.rightX = rightX;
+            this.step = step;
+            this.value = value;
+        }
+    }
+
+    private final TaskQueue<Event> queue;
+    private final Writer out;
+    private final boolean dropWhenFull;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile IOException failure;
+
+    public AsyncResultSink(Writer out, int capacity, boolean dropWhenFull) {
+        this.queue = new MpmcTaskQueue<>(capacity);
+        this.out = out;
+        this.dropWhenFull = dropWhenFull;
+        this.writer = new Thread(this::drain, "ResultSink");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void source(double leftX, double rightX, double step) {
+        submit(new Event(false, leftX, rightX, step, 0.0));
+    }
+
+    @Override
+    public void result(double leftX, double rightX, double step, double result) {
+        submit(new Event(true, leftX, rightX, step, result));
+    }
+
+    private void submit(Event event) {
+        if (dropWhenFull) {
+            if (!queue.offer(event)) {
+                dropped.increment();
+            }
+            return;
+        }
+
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        StringBuilder sb = new StringBuilder(BATCH_SIZE * 64);
+        try {
+            Event event;
+            while ((event = queue.take()) != null) {
+                int batch = 0;
+                do {
+                    format(sb, event);
+                    batch++;
+                } while (batch < BATCH_SIZE && (event = queue.poll()) != null);
+
+                out.append(sb);
+                sb.setLength(0);
+                if (queue.size() == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            failure = e;
+            discard();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // После ошибки записи очередь продолжает опустошаться, чтобы не блокировать производителей.
+    private void discard() {
+        try {
+            while (queue.take() != null) {
+                dropped.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void format(StringBuilder sb, Event event) {
+        sb.append(event.result ? "Result " : "Source ");
+        FixedPointFormat.append(sb, event.leftX, 2);
+        sb.append(' ');
+        FixedPointFormat.append(sb, event.rightX, 2);
+        sb.append(' ');
+        FixedPointFormat.append(sb, event.step, 6);
+        if (event.result) {
+            sb.append(' ');
+            FixedPointFormat.append(sb, event.value, 6);
+        }
+        sb.append(System.lineSeparator());
+    }
+
+    // Дописывает все принятые события и останавливает поток-писатель.
+    @Override
+    public void close() {
+        queue.close();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+}
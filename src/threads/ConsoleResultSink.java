@@ -0,0 +1,18 @@
+package threads;
+
+import java.util.Locale;
+
+// Прежний вывод: printf в System.out на каждое событие, синхронно.
+// Locale.ROOT - чтобы вывод совпадал с FixedPointFormat при любой локали.
+public class ConsoleResultSink implements ResultSink {
+
+    @Override
+    public void source(double leftX, double rightX, double step) {
+        System.out.printf(Locale.ROOT, "Source %.2f %.2f %.6f%n", leftX, rightX, step);
+    }
+
+    @Override
+    public void result(double leftX, double rightX, double step, double result) {
+        System.out.printf(Locale.ROOT, "Result %.2f %.2f %.6f %.6f%n", leftX, rightX, step, result);
+    }
+}
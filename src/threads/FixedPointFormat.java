@@ -0,0 +1,61 @@
+package threads;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Форматирование как у "%.Nf", но без Formatter и всегда с точкой в качестве
+// разделителя. Formatter округляет HALF_UP не точное значение double, а его
+// кратчайшую десятичную запись (1.005 -> "1.01"), и здесь это повторяется.
+final class FixedPointFormat {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9
+    };
+
+    private FixedPointFormat() {
+    }
+
+    static void append(StringBuilder sb, double value, int digits) {
+        if (Double.isNaN(value)) {
+            sb.append("NaN");
+            return;
+        }
+        if (Double.isInfinite(value)) {
+            sb.append(value > 0 ? "Infinity" : "-Infinity");
+            return;
+        }
+
+        double magnitude = Math.abs(value);
+        double power = POWERS_OF_TEN[digits];
+        double scaled = magnitude * power;
+        if (scaled >= 0x1p44) {
+            sb.append(new BigDecimal(Double.toString(value)).setScale(digits, RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+
+        // magnitude * power = scaled + error точно; по знаку (дробная часть - 0.5) + error
+        // видно, лежит ли точное значение не ниже середины. Если ниже, но середина
+        // округляется в тот же double, то кратчайшая запись - это сама середина
+        // (при scaled < 2^44 шаг double много меньше 10^-digits), и Formatter округлит вверх.
+        double error = Math.fma(magnitude, power, -scaled);
+        double floor = Math.floor(scaled);
+        long units = (long) floor;
+        if ((scaled - floor - 0.5) + error >= 0.0 || (floor + 0.5) / power == magnitude) {
+            units++;
+        }
+
+        if (Double.doubleToRawLongBits(value) < 0) {
+            sb.append('-');
+        }
+
+        long divisor = (long) power;
+        sb.append(units / divisor);
+        if (digits > 0) {
+            sb.append('.');
+            long fraction = units % divisor;
+            for (long d = divisor / 10; d > 0; d /= 10) {
+                sb.append((char) ('0' + fraction / d % 10));
+            }
+        }
+    }
+}
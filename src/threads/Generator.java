@@ -5,10 +5,22 @@ import functions.basic.Log;
 public class Generator extends Thread {
     private final Task task;
     private final Semaphore semaphore;
+    private final ResultSink sink;
+    private final RandomTaskGenerator random;
 
     public Generator(Task task, Semaphore semaphore) {
+        this(task, semaphore, new ConsoleResultSink());
+    }
+
+    public Generator(Task task, Semaphore semaphore, ResultSink sink) {
+        this(task, semaphore, sink, new RandomTaskGenerator());
+    }
+
+    public Generator(Task task, Semaphore semaphore, ResultSink sink, RandomTaskGenerator random) {
         this.task = task;
         this.semaphore = semaphore;
+        this.sink = sink;
+        this.random = random;
     }
 
     @Override
@@ -20,22 +32,30 @@ public class Generator extends Thread {
                     break;
                 }
 
-                double base = 1 + Math.random() * 9;
-                double leftX = Math.random() * 100;
-                double rightX = 100 + Math.random() * 100;
-                double step = Math.random();
+                double base = random.nextBase();
+                double leftX = random.nextLeftX();
+                double rightX = random.nextRightX();
+                double step = random.nextStep();
 
+                long waitStart = PipelineMetrics.ENABLED ? System.nanoTime() : 0L;
                 semaphore.acquire();
+                if (PipelineMetrics.ENABLED) {
+                    PipelineMetrics.get().handoffWait(System.nanoTime() - waitStart);
+                }
 
                 task.setFunction(new Log(base));
                 task.setLeftX(leftX);
                 task.setRightX(rightX);
                 task.setStep(step);
-
-                System.out.printf("Source %.2f %.2f %.6f%n", leftX, rightX, step);
+                task.setSequence(i + 1);
 
                 semaphore.release();
 
+                if (PipelineMetrics.ENABLED) {
+                    PipelineMetrics.get().taskGenerated();
+                }
+                sink.source(leftX, rightX, step);
+
                 try {
                     Thread.sleep(5);
                 } catch (InterruptedException e) {
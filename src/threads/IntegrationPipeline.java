@@ -0,0 +1,208 @@
+package threads;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Генератор -> очередь задач -> N интеграторов -> очередь результатов -> сборщик.
+// Сборщик - единственный поток, вызывающий resultConsumer, поэтому потребителю
+// не нужна синхронизация. В упорядоченном режиме результаты выдаются по
+// возрастанию номера задачи.
+public class IntegrationPipeline {
+    private final int tasksCount;
+    private final int workersCount;
+    private boolean virtualThreads;
+    private boolean ordered;
+    private int queueCapacity = 1024;
+    private RandomTaskGenerator random;
+    private Consumer<TaskResult> resultConsumer = result -> {
+    };
+
+    private final List<Thread> threads = new ArrayList<>();
+    private final List<QueueIntegrator> integrators = new ArrayList<>();
+    private QueueGenerator generator;
+    private boolean started;
+
+    public IntegrationPipeline(int tasksCount, int workersCount) {
+        if (tasksCount < 0 || workersCount < 1) {
+            throw new IllegalArgumentException("Некорректное число задач или потоков");
+        }
+        this.tasksCount = tasksCount;
+        this.workersCount = workersCount;
+    }
+
+    public int getTasksCount() {
+        return tasksCount;
+    }
+
+    public int getWorkersCount() {
+        return workersCount;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public synchronized void setVirtualThreads(boolean virtualThreads) {
+        checkNotStarted();
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public synchronized void setOrdered(boolean ordered) {
+        checkNotStarted();
+        this.ordered = ordered;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public synchronized void setQueueCapacity(int queueCapacity) {
+        checkNotStarted();
+        this.queueCapacity = queueCapacity;
+    }
+
+    // Генератор с заданным seed делает прогон воспроизводимым.
+    public synchronized void setRandom(RandomTaskGenerator random) {
+        checkNotStarted();
+        this.random = random;
+    }
+
+    public synchronized void setResultConsumer(Consumer<TaskResult> resultConsumer) {
+        checkNotStarted();
+        this.resultConsumer = resultConsumer;
+    }
+
+    private void checkNotStarted() {
+        if (started) {
+            throw new IllegalStateException("Конвейер уже запущен");
+        }
+    }
+
+    public synchronized void start() {
+        checkNotStarted();
+        started = true;
+
+        TaskQueue<IntegrationTask> tasks = new MpmcTaskQueue<>(queueCapacity);
+        TaskQueue<TaskResult> results = new MpmcTaskQueue<>(queueCapacity);
+        ThreadFactory workerFactory = virtualThreads
+                ? Thread.ofVirtual().name("Integrator-", 0).factory()
+                : Thread.ofPlatform().name("Integrator-", 0).factory();
+
+        QueueGenerator generator = new QueueGenerator(tasks, tasksCount,
+                random != null ? random : new RandomTaskGenerator());
+        this.generator = generator;
+        threads.add(Thread.ofPlatform().name("Generator").unstarted(() -> {
+            try {
+                generator.run();
+            } finally {
+                tasks.close();
+            }
+        }));
+
+        AtomicInteger activeWorkers = new AtomicInteger(workersCount);
+        for (int i = 0; i < workersCount; i++) {
+            QueueIntegrator integrator = new QueueIntegrator(tasks, results);
+            integrators.add(integrator);
+            threads.add(workerFactory.newThread(() -> {
+                try {
+                    integrator.run();
+                } finally {
+                    if (activeWorkers.decrementAndGet() == 0) {
+                        results.close();
+                    }
+                }
+            }));
+        }
+
+        threads.add(Thread.ofPlatform().name("Collector").unstarted(() -> collect(results)));
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+    }
+
+    private void collect(TaskQueue<TaskResult> results) {
+        PriorityQueue<TaskResult> pending =
+                new PriorityQueue<>(Comparator.comparingLong(result -> result.getTask().getId()));
+        long nextId = 0;
+
+        try {
+            TaskResult result;
+            while ((result = results.take()) != null) {
+                if (!ordered) {
+                    resultConsumer.accept(result);
+                    continue;
+                }
+
+                pending.add(result);
+                while (!pending.isEmpty() && pending.peek().getTask().getId() == nextId) {
+                    resultConsumer.accept(pending.poll());
+                    nextId++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        List<Thread> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(threads);
+        }
+        for (Thread thread : snapshot) {
+            if (thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Ждёт, пока все задачи будут обработаны и выданы потребителю.
+    public void awaitTermination() throws InterruptedException {
+        List<Thread> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(threads);
+        }
+        for (Thread thread : snapshot) {
+            thread.join();
+        }
+    }
+
+    // Прерывает все потоки конвейера и ждёт их завершения; необработанные задачи теряются.
+    public void stop() throws InterruptedException {
+        List<Thread> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(threads);
+        }
+        for (Thread thread : snapshot) {
+            thread.interrupt();
+        }
+        for (Thread thread : snapshot) {
+            thread.join();
+        }
+
+        if (PipelineMetrics.ENABLED && generator != null) {
+            PipelineMetrics.get().tasksDropped(generator.getGenerated() - getProcessed());
+        }
+    }
+
+    public long getProcessed() {
+        long processed = 0;
+        synchronized (this) {
+            for (QueueIntegrator integrator : integrators) {
+                processed += integrator.getProcessed();
+            }
+        }
+        return processed;
+    }
+}
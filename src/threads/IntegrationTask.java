@@ -0,0 +1,39 @@
+package threads;
+
+import functions.Function;
+
+public final class IntegrationTask {
+    private final long id;
+    private final Function function;
+    private final double leftX;
+    private final double rightX;
+    private final double step;
+
+    public IntegrationTask(long id, Function function, double leftX, double rightX, double step) {
+        this.id = id;
+        this.function = function;
+        this.leftX = leftX;
+        this.rightX = rightX;
+        this.step = step;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    public double getLeftX() {
+        return leftX;
+    }
+
+    public double getRightX() {
+        return rightX;
+    }
+
+    public double getStep() {
+        return step;
+    }
+}
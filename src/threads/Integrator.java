@@ -5,14 +5,21 @@ import functions.Functions;
 public class Integrator extends Thread {
     private final Task task;
     private final Semaphore semaphore;
+    private final ResultSink sink;
 
     public Integrator(Task task, Semaphore semaphore) {
+        this(task, semaphore, new ConsoleResultSink());
+    }
+
+    public Integrator(Task task, Semaphore semaphore, ResultSink sink) {
         this.task = task;
         this.semaphore = semaphore;
+        this.sink = sink;
     }
 
     @Override
     public void run() {
+        long lastSequence = 0;
         try {
             for (int i = 0; i < task.getTasksCount(); i++) {
                 if (Thread.interrupted()) {
@@ -22,22 +29,35 @@ public class Integrator extends Thread {
 
                 double leftX, rightX, step, result;
 
+                long waitStart = PipelineMetrics.ENABLED ? System.nanoTime() : 0L;
                 semaphore.acquire();
+                if (PipelineMetrics.ENABLED) {
+                    PipelineMetrics.get().handoffWait(System.nanoTime() - waitStart);
+                }
 
                 if (task.getFunction() == null) {
                     semaphore.release();
                     continue;
                 }
 
+                long sequence = task.getSequence();
+                if (PipelineMetrics.ENABLED && sequence > lastSequence + 1) {
+                    PipelineMetrics.get().tasksDropped(sequence - lastSequence - 1);
+                }
+                lastSequence = sequence;
+
                 leftX = task.getLeftX();
                 rightX = task.getRightX();
                 step = task.getStep();
+                long integrationStart = PipelineMetrics.ENABLED ? System.nanoTime() : 0L;
                 result = Functions.integrate(task.getFunction(), leftX, rightX, step);
+                if (PipelineMetrics.ENABLED) {
+                    PipelineMetrics.get().taskIntegrated(System.nanoTime() - integrationStart, leftX, rightX, step);
+                }
 
                 semaphore.release();
 
-                System.out.printf("Result %.2f %.2f %.6f %.6f%n",
-                        leftX, rightX, step, result);
+                sink.result(leftX, rightX, step, result);
 
                 try {
                     Thread.sleep(5);
@@ -0,0 +1,216 @@
+package threads;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+// Метрики конвейера генератор -> интегратор. Включаются свойством
+// -Dthreads.metrics=true; ENABLED - константа, поэтому при выключенных метриках
+// JIT выбрасывает проверки "if (PipelineMetrics.ENABLED)" вместе с замерами времени.
+// При включении метрики регистрируются в JMX как threads:type=PipelineMetrics.
+public final class PipelineMetrics implements PipelineMetricsMXBean {
+
+    public static final boolean ENABLED = Boolean.getBoolean("threads.metrics");
+
+    private static final PipelineMetrics INSTANCE = new PipelineMetrics();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                        .registerMBean(INSTANCE, new ObjectName("threads:type=PipelineMetrics"));
+            } catch (JMException e) {
+                System.err.println("Не удалось зарегистрировать PipelineMetrics в JMX: " + e.getMessage());
+            }
+        }
+    }
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder integrated = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder nominalNodes = new LongAdder();
+    private final LatencyHistogram handoffWait = new LatencyHistogram();
+    private final LatencyHistogram integration = new LatencyHistogram();
+    private final LatencyHistogram queueDepth = new LatencyHistogram();
+    private volatile long startNanos = System.nanoTime();
+
+    private PipelineMetrics() {
+    }
+
+    public static PipelineMetrics get() {
+        return INSTANCE;
+    }
+
+    public void taskGenerated() {
+        generated.increment();
+    }
+
+    public void tasksDropped(long count) {
+        dropped.add(count);
+    }
+
+    // Время ожидания семафора, монитора или места/элемента в очереди.
+    public void handoffWait(long nanos) {
+        handoffWait.record(nanos);
+    }
+
+    public void queueDepth(int depth) {
+        queueDepth.record(depth);
+    }
+
+    // nominalNodes - число узлов сетки с заданным шагом, а не число вызовов функции:
+    // интегрирование идёт по первообразной, и функция вычисляется реже.
+    public void taskIntegrated(long nanos, double leftX, double rightX, double step) {
+        integrated.increment();
+        integration.record(nanos);
+        if (step > 0 && rightX > leftX) {
+            nominalNodes.add((long) Math.ceil((rightX - leftX) / step) + 1);
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot((System.nanoTime() - startNanos) / 1e9,
+                generated.sum(), integrated.sum(), dropped.sum(), nominalNodes.sum(),
+                handoffWait.snapshot(), integration.snapshot(), queueDepth.snapshot());
+    }
+
+    @Override
+    public void reset() {
+        generated.reset();
+        integrated.reset();
+        dropped.reset();
+        nominalNodes.reset();
+        handoffWait.reset();
+        integration.reset();
+        queueDepth.reset();
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public long getTasksGenerated() {
+        return generated.sum();
+    }
+
+    @Override
+    public long getTasksIntegrated() {
+        return integrated.sum();
+    }
+
+    @Override
+    public long getTasksDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public long getNominalNodes() {
+        return nominalNodes.sum();
+    }
+
+    @Override
+    public double getTasksPerSecond() {
+        return snapshot().getTasksPerSecond();
+    }
+
+    @Override
+    public double getNominalNodesPerSecond() {
+        return snapshot().getNominalNodesPerSecond();
+    }
+
+    @Override
+    public long getHandoffWaitP99Nanos() {
+        return handoffWait.snapshot().getValueAtQuantile(0.99);
+    }
+
+    @Override
+    public long getIntegrationP50Nanos() {
+        return integration.snapshot().getValueAtQuantile(0.5);
+    }
+
+    @Override
+    public long getIntegrationP99Nanos() {
+        return integration.snapshot().getValueAtQuantile(0.99);
+    }
+
+    @Override
+    public long getQueueDepthP99() {
+        return queueDepth.snapshot().getValueAtQuantile(0.99);
+    }
+
+    public static final class Snapshot {
+        private final double seconds;
+        private final long generated;
+        private final long integrated;
+        private final long dropped;
+        private final long nominalNodes;
+        private final LatencyHistogram.Snapshot handoffWait;
+        private final LatencyHistogram.Snapshot integration;
+        private final LatencyHistogram.Snapshot queueDepth;
+
+        private Snapshot(double seconds, long generated, long integrated, long dropped, long nominalNodes,
+                         LatencyHistogram.Snapshot handoffWait,
+                         LatencyHistogram.Snapshot integration,
+                         LatencyHistogram.Snapshot queueDepth) {
+            this.seconds = seconds;
+            this.generated = generated;
+            this.integrated = integrated;
+            this.dropped = dropped;
+            this.nominalNodes = nominalNodes;
+            this.handoffWait = handoffWait;
+            this.integration = integration;
+            this.queueDepth = queueDepth;
+        }
+
+        public double getSeconds() {
+            return seconds;
+        }
+
+        public long getGenerated() {
+            return generated;
+        }
+
+        public long getIntegrated() {
+            return integrated;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        public long getNominalNodes() {
+            return nominalNodes;
+        }
+
+        public double getTasksPerSecond() {
+            return seconds > 0 ? integrated / seconds : 0.0;
+        }
+
+        public double getNominalNodesPerSecond() {
+            return seconds > 0 ? nominalNodes / seconds : 0.0;
+        }
+
+        public LatencyHistogram.Snapshot getHandoffWait() {
+            return handoffWait;
+        }
+
+        public LatencyHistogram.Snapshot getIntegration() {
+            return integration;
+        }
+
+        public LatencyHistogram.Snapshot getQueueDepth() {
+            return queueDepth;
+        }
+
+        @Override
+        public String toString() {
+            return "Сгенерировано: " + generated
+                    + ", проинтегрировано: " + integrated
+                    + ", потеряно: " + dropped
+                    + ", задач/с: " + Math.round(getTasksPerSecond())
+                    + ", номинальных узлов/с: " + Math.round(getNominalNodesPerSecond())
+                    + System.lineSeparator() + "  ожидание передачи, нс: " + handoffWait
+                    + System.lineSeparator() + "  интегрирование, нс: " + integration
+                    + System.lineSeparator() + "  глубина очереди: " + queueDepth;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package threads;
+
+public interface PipelineMetricsMXBean {
+
+    long getTasksGenerated();
+
+    long getTasksIntegrated();
+
+    long getTasksDropped();
+
+    long getNominalNodes();
+
+    double getTasksPerSecond();
+
+    double getNominalNodesPerSecond();
+
+    long getHandoffWaitP99Nanos();
+
+    long getIntegrationP50Nanos();
+
+    long getIntegrationP99Nanos();
+
+    long getQueueDepthP99();
+
+    void reset();
+}
@@ -0,0 +1,43 @@
+package threads;
+
+public class QueueGenerator implements Runnable {
+    private final TaskQueue<IntegrationTask> queue;
+    private final int tasksCount;
+    private final RandomTaskGenerator random;
+    private volatile long generated;
+
+    public QueueGenerator(TaskQueue<IntegrationTask> queue, int tasksCount) {
+        this(queue, tasksCount, new RandomTaskGenerator());
+    }
+
+    public QueueGenerator(TaskQueue<IntegrationTask> queue, int tasksCount, RandomTaskGenerator random) {
+        this.queue = queue;
+        this.tasksCount = tasksCount;
+        this.random = random;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    @Override
+    public void run() {
+        int i = 0;
+        try {
+            for (; i < tasksCount; i++) {
+                IntegrationTask task = random.nextTask(i);
+                long waitStart = PipelineMetrics.ENABLED ? System.nanoTime() : 0L;
+                queue.put(task);
+                if (PipelineMetrics.ENABLED) {
+                    PipelineMetrics.get().handoffWait(System.nanoTime() - waitStart);
+                    PipelineMetrics.get().taskGenerated();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Generator прерван");
+        } finally {
+            generated = i;
+        }
+    }
+}
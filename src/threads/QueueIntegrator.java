@@ -0,0 +1,71 @@
+package threads;
+
+import functions.Functions;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class QueueIntegrator implements Runnable {
+    private final TaskQueue<IntegrationTask> queue;
+    private final TaskQueue<TaskResult> results;
+    // Пишет только поток интегратора, после каждой задачи: lazySet без полного барьера.
+    private final AtomicLong processed = new AtomicLong();
+    private volatile long idSum;
+
+    public QueueIntegrator(TaskQueue<IntegrationTask> queue) {
+        this(queue, null);
+    }
+
+    // Если results не null, туда кладётся результат каждой задачи.
+    public QueueIntegrator(TaskQueue<IntegrationTask> queue, TaskQueue<TaskResult> results) {
+        this.queue = queue;
+        this.results = results;
+    }
+
+    // Число обработанных задач и сумма их номеров: по ним проверяется,
+    // что каждая задача обработана ровно один раз. processed растёт по ходу работы,
+    // idSum публикуется при завершении потока.
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getIdSum() {
+        return idSum;
+    }
+
+    @Override
+    public void run() {
+        long count = 0;
+        long sum = 0;
+        try {
+            while (true) {
+                long waitStart = PipelineMetrics.ENABLED ? System.nanoTime() : 0L;
+                IntegrationTask task = queue.take();
+                if (task == null) {
+                    break;
+                }
+                if (PipelineMetrics.ENABLED) {
+                    PipelineMetrics.get().handoffWait(System.nanoTime() - waitStart);
+                    PipelineMetrics.get().queueDepth(queue.size());
+                }
+
+                long integrationStart = PipelineMetrics.ENABLED ? System.nanoTime() : 0L;
+                double result = Functions.integrate(
+                        task.getFunction(), task.getLeftX(), task.getRightX(), task.getStep());
+                if (PipelineMetrics.ENABLED) {
+                    PipelineMetrics.get().taskIntegrated(System.nanoTime() - integrationStart,
+                            task.getLeftX(), task.getRightX(), task.getStep());
+                }
+                if (results != null) {
+                    results.put(new TaskResult(task, result));
+                }
+                count++;
+                sum += task.getId();
+                processed.lazySet(count);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Integrator прерван");
+        } finally {
+            idSum = sum;
+        }
+    }
+}
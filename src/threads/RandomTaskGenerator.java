@@ -0,0 +1,62 @@
+package threads;
+
+import functions.basic.Log;
+
+import java.util.SplittableRandom;
+
+// Параметры задач из собственного SplittableRandom: без общего состояния между
+// потоками и воспроизводимо при заданном seed. split() даёт независимый поток
+// для другого генератора; экземпляр не потокобезопасен.
+public class RandomTaskGenerator {
+    private final SplittableRandom random;
+
+    public RandomTaskGenerator() {
+        this(new SplittableRandom());
+    }
+
+    public RandomTaskGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private RandomTaskGenerator(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public RandomTaskGenerator split() {
+        return new RandomTaskGenerator(random.split());
+    }
+
+    public double nextBase() {
+        return 1 + random.nextDouble() * 9;
+    }
+
+    public double nextLeftX() {
+        return random.nextDouble() * 100;
+    }
+
+    public double nextRightX() {
+        return 100 + random.nextDouble() * 100;
+    }
+
+    public double nextStep() {
+        return random.nextDouble();
+    }
+
+    public IntegrationTask nextTask(long id) {
+        double base = nextBase();
+        double leftX = nextLeftX();
+        double rightX = nextRightX();
+        double step = nextStep();
+        return new IntegrationTask(id, new Log(base), leftX, rightX, step);
+    }
+
+    // Заполняет параметры задач [from, to) в том же порядке, что и nextTask.
+    public void fill(double[] bases, double[] leftXs, double[] rightXs, double[] steps, int from, int to) {
+        for (int i = from; i < to; i++) {
+            bases[i] = nextBase();
+            leftXs[i] = nextLeftX();
+            rightXs[i] = nextRightX();
+            steps[i] = nextStep();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package threads;
+
+// Получатель событий конвейера: сгенерированных задач и результатов интегрирования.
+// Методы вызываются из вычислительных потоков и не должны надолго их блокировать.
+public interface ResultSink extends AutoCloseable {
+
+    void source(double leftX, double rightX, double step);
+
+    void result(double leftX, double rightX, double step, double result);
+
+    @Override
+    default void close() {
+    }
+}
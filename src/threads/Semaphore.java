@@ -1,17 +1,117 @@
 package threads;
 
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+
+// Счётный семафор на AbstractQueuedSynchronizer. Занятый acquire сначала
+// несколько раз пробует взять разрешение в цикле ожидания и только потом
+// встаёт в очередь AQS и паркуется; release будит одного ожидающего, а не всех.
+// В честном режиме разрешение не перехватывается в обход очереди.
 public class Semaphore {
-    private boolean available = true;
+    private static final int SPINS = 64;
+
+    private final Sync sync;
+
+    public Semaphore() {
+        this(1);
+    }
+
+    public Semaphore(int permits) {
+        this(permits, false);
+    }
+
+    public Semaphore(int permits, boolean fair) {
+        if (permits < 0) {
+            throw new IllegalArgumentException("Число разрешений не может быть отрицательным");
+        }
+        this.sync = new Sync(permits, fair);
+    }
 
-    public synchronized void acquire() throws InterruptedException {
-        while (!available) {
-            wait();
+    private static final class Sync extends AbstractQueuedSynchronizer {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean fair;
+
+        Sync(int permits, boolean fair) {
+            this.fair = fair;
+            setState(permits);
+        }
+
+        int permits() {
+            return getState();
+        }
+
+        @Override
+        protected int tryAcquireShared(int acquires) {
+            while (true) {
+                if (fair && hasQueuedPredecessors()) {
+                    return -1;
+                }
+                int available = getState();
+                int remaining = available - acquires;
+                if (remaining < 0 || compareAndSetState(available, remaining)) {
+                    return remaining;
+                }
+            }
+        }
+
+        @Override
+        protected boolean tryReleaseShared(int releases) {
+            while (true) {
+                int current = getState();
+                int next = current + releases;
+                if (next < current) {
+                    throw new Error("Превышено максимальное число разрешений");
+                }
+                if (compareAndSetState(current, next)) {
+                    return true;
+                }
+            }
         }
-        available = false;
     }
 
-    public synchronized void release() {
-        available = true;
-        notifyAll();
+    public void acquire() throws InterruptedException {
+        acquire(1);
+    }
+
+    public void acquire(int permits) throws InterruptedException {
+        checkPermits(permits);
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        for (int i = 0; i < SPINS; i++) {
+            if (sync.tryAcquireShared(permits) >= 0) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        sync.acquireSharedInterruptibly(permits);
+    }
+
+    public boolean tryAcquire() {
+        return sync.tryAcquireShared(1) >= 0;
+    }
+
+    public void release() {
+        release(1);
+    }
+
+    public void release(int permits) {
+        checkPermits(permits);
+        sync.releaseShared(permits);
+    }
+
+    public int availablePermits() {
+        return sync.permits();
+    }
+
+    public boolean isFair() {
+        return sync.fair;
+    }
+
+    private static void checkPermits(int permits) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Число разрешений должно быть положительным");
+        }
     }
 }
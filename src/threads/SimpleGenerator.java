@@ -4,28 +4,47 @@ import functions.basic.Log;
 
 public class SimpleGenerator implements Runnable {
     private final Task task;
+    private final ResultSink sink;
+    private final RandomTaskGenerator random;
 
     public SimpleGenerator(Task task) {
+        this(task, new ConsoleResultSink());
+    }
+
+    public SimpleGenerator(Task task, ResultSink sink) {
+        this(task, sink, new RandomTaskGenerator());
+    }
+
+    public SimpleGenerator(Task task, ResultSink sink, RandomTaskGenerator random) {
         this.task = task;
+        this.sink = sink;
+        this.random = random;
     }
 
     @Override
     public void run() {
         for (int i = 0; i < task.getTasksCount(); i++) {
 
-            double base = 1 + Math.random() * 9;
-            double leftX = Math.random() * 100;
-            double rightX = 100 + Math.random() * 100;
-            double step = Math.random();
+            double base = random.nextBase();
+            double leftX = random.nextLeftX();
+            double rightX = random.nextRightX();
+            double step = random.nextStep();
 
+            long waitStart = PipelineMetrics.ENABLED ? System.nanoTime() : 0L;
             synchronized (task) {
+                if (PipelineMetrics.ENABLED) {
+                    PipelineMetrics.get().handoffWait(System.nanoTime() - waitStart);
+                }
                 task.setFunction(new Log(base));
                 task.setLeftX(leftX);
                 task.setRightX(rightX);
                 task.setStep(step);
+            }
 
-                System.out.printf("Source %.2f %.2f %.6f%n", leftX, rightX, step);
+            if (PipelineMetrics.ENABLED) {
+                PipelineMetrics.get().taskGenerated();
             }
+            sink.source(leftX, rightX, step);
 
             try {
                 Thread.sleep(5);
@@ -4,9 +4,15 @@ import functions.Functions;
 
 public class SimpleIntegrator implements Runnable {
     private final Task task;
+    private final ResultSink sink;
 
     public SimpleIntegrator(Task task) {
+        this(task, new ConsoleResultSink());
+    }
+
+    public SimpleIntegrator(Task task, ResultSink sink) {
         this.task = task;
+        this.sink = sink;
     }
 
     @Override
@@ -16,7 +22,11 @@ public class SimpleIntegrator implements Runnable {
 
             double leftX, rightX, step, result;
 
+            long waitStart = PipelineMetrics.ENABLED ? System.nanoTime() : 0L;
             synchronized (task) {
+                if (PipelineMetrics.ENABLED) {
+                    PipelineMetrics.get().handoffWait(System.nanoTime() - waitStart);
+                }
                 if (task.getFunction() == null) {
                     continue;
                 }
@@ -24,11 +34,14 @@ public class SimpleIntegrator implements Runnable {
                 leftX = task.getLeftX();
                 rightX = task.getRightX();
                 step = task.getStep();
+                long integrationStart = PipelineMetrics.ENABLED ? System.nanoTime() : 0L;
                 result = Functions.integrate(task.getFunction(), leftX, rightX, step);
+                if (PipelineMetrics.ENABLED) {
+                    PipelineMetrics.get().taskIntegrated(System.nanoTime() - integrationStart, leftX, rightX, step);
+                }
             }
 
-            System.out.printf("Result %.2f %.2f %.6f %.6f%n",
-                    leftX, rightX, step, result);
+            sink.result(leftX, rightX, step, result);
 
             try {
                 Thread.sleep(5);
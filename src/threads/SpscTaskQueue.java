@@ -0,0 +1,83 @@
+package threads;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Кольцевой буфер для одного производителя и одного потребителя.
+// Каждая сторона пишет только свой индекс и кэширует чужой, перечитывая
+// его лишь когда буфер кажется полным (пустым).
+public final class SpscTaskQueue<E> extends TaskQueue<E> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscTaskQueue.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscTaskQueue.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] buffer;
+    private final int mask;
+
+    private long head;
+    private long tailCache;
+
+    private long tail;
+    private long headCache;
+
+    public SpscTaskQueue(int capacity) {
+        int size = roundCapacity(capacity);
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public boolean offer(E element) {
+        long t = tail;
+        if (t - headCache >= buffer.length) {
+            headCache = (long) HEAD.getAcquire(this);
+            if (t - headCache >= buffer.length) {
+                return false;
+            }
+        }
+
+        buffer[(int) t & mask] = element;
+        TAIL.setRelease(this, t + 1);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h >= tailCache) {
+                return null;
+            }
+        }
+
+        int index = (int) h & mask;
+        E element = (E) buffer[index];
+        buffer[index] = null;
+        HEAD.setRelease(this, h + 1);
+        return element;
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.length;
+    }
+
+    @Override
+    public int size() {
+        long h = (long) HEAD.getAcquire(this);
+        long t = (long) TAIL.getAcquire(this);
+        return (int) Math.max(0, Math.min(t - h, buffer.length));
+    }
+}
@@ -8,6 +8,9 @@ public class Task {
     private double rightX;
     private double step;
     private int tasksCount;
+    // Номер задания, записанного генератором: по пропускам в номерах интегратор
+    // замечает задания, перезаписанные до того, как он их прочитал.
+    private long sequence;
 
     public Function getFunction() {
         return function;
@@ -48,4 +51,12 @@ public class Task {
     public void setTasksCount(int tasksCount) {
         this.tasksCount = tasksCount;
     }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
 }
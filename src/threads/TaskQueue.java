@@ -0,0 +1,94 @@
+package threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Ограниченная очередь без блокировок. offer/poll не ждут; put/take сначала
+// крутятся, затем уступают процессор и паркуются с растущим интервалом.
+// close() вызывается, когда все производители закончили: после него put бросает
+// IllegalStateException, а take на пустой очереди возвращает null - это сигнал
+// потребителю завершаться. Прерывание проверяется при каждом вызове put/take,
+// а не только в ожидании, иначе поток с непустой очередью его не заметит.
+public abstract class TaskQueue<E> {
+
+    private static final int SPINS = 100;
+    private static final int YIELDS = 10;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private volatile boolean closed;
+
+    public abstract boolean offer(E element);
+
+    public abstract E poll();
+
+    public abstract int capacity();
+
+    public abstract int size();
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void close() {
+        closed = true;
+    }
+
+    public void put(E element) throws InterruptedException {
+        if (element == null) {
+            throw new NullPointerException("Элемент очереди не может быть null");
+        }
+        checkInterrupted();
+
+        int attempt = 0;
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("Очередь закрыта");
+            }
+            if (offer(element)) {
+                return;
+            }
+            backOff(attempt++);
+        }
+    }
+
+    public E take() throws InterruptedException {
+        checkInterrupted();
+        int attempt = 0;
+        while (true) {
+            E element = poll();
+            if (element != null) {
+                return element;
+            }
+            if (closed) {
+                // close() мог произойти сразу после последнего offer.
+                return poll();
+            }
+            backOff(attempt++);
+        }
+    }
+
+    private static void backOff(int attempt) throws InterruptedException {
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else if (attempt < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            int shift = Math.min(attempt - SPINS - YIELDS, 10);
+            LockSupport.parkNanos(Math.min(1000L << shift, MAX_PARK_NANOS));
+        }
+        checkInterrupted();
+    }
+
+    private static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    static int roundCapacity(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Некорректная ёмкость очереди: " + capacity);
+        }
+        return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
@@ -0,0 +1,19 @@
+package threads;
+
+public final class TaskResult {
+    private final IntegrationTask task;
+    private final double result;
+
+    public TaskResult(IntegrationTask task, double result) {
+        this.task = task;
+        this.result = result;
+    }
+
+    public IntegrationTask getTask() {
+        return task;
+    }
+
+    public double getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+package functions;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Операция в каждом цикле должна быть константой: только тогда C2
+// заменяет lanewise на векторные инструкции (для exp/log/sin/cos/tan - на SVML).
+final class VectorKernels implements BatchKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void exp(double[] xs, double[] out, int from, int to) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, xs, i).lanewise(VectorOperators.EXP).intoArray(out, i);
+        }
+        if (i < to) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, to);
+            DoubleVector.fromArray(SPECIES, xs, i, mask).lanewise(VectorOperators.EXP).intoArray(out, i, mask);
+        }
+    }
+
+    @Override
+    public void log(double[] xs, double[] out, int from, int to, double logBase) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, xs, i).lanewise(VectorOperators.LOG).div(logBase).intoArray(out, i);
+        }
+        if (i < to) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, to);
+            DoubleVector.fromArray(SPECIES, xs, i, mask).lanewise(VectorOperators.LOG).div(logBase).intoArray(out, i, mask);
+        }
+    }
+
+    @Override
+    public void sin(double[] xs, double[] out, int from, int to) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, xs, i).lanewise(VectorOperators.SIN).intoArray(out, i);
+        }
+        if (i < to) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, to);
+            DoubleVector.fromArray(SPECIES, xs, i, mask).lanewise(VectorOperators.SIN).intoArray(out, i, mask);
+        }
+    }
+
+    @Override
+    public void cos(double[] xs, double[] out, int from, int to) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, xs, i).lanewise(VectorOperators.COS).intoArray(out, i);
+        }
+        if (i < to) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, to);
+            DoubleVector.fromArray(SPECIES, xs, i, mask).lanewise(VectorOperators.COS).intoArray(out, i, mask);
+        }
+    }
+
+    @Override
+    public void tan(double[] xs, double[] out, int from, int to) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, xs, i).lanewise(VectorOperators.TAN).intoArray(out, i);
+        }
+        if (i < to) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, to);
+            DoubleVector.fromArray(SPECIES, xs, i, mask).lanewise(VectorOperators.TAN).intoArray(out, i, mask);
+        }
+    }
+
+    @Override
+    public void add(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, aFrom + i)
+                    .add(DoubleVector.fromArray(SPECIES, b, bFrom + i))
+                    .intoArray(a, aFrom + i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, a, aFrom + i, mask)
+                    .add(DoubleVector.fromArray(SPECIES, b, bFrom + i, mask))
+                    .intoArray(a, aFrom + i, mask);
+        }
+    }
+
+    @Override
+    public void mul(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, aFrom + i)
+                    .mul(DoubleVector.fromArray(SPECIES, b, bFrom + i))
+                    .intoArray(a, aFrom + i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, a, aFrom + i, mask)
+                    .mul(DoubleVector.fromArray(SPECIES, b, bFrom + i, mask))
+                    .intoArray(a, aFrom + i, mask);
+        }
+    }
+
+    @Override
+    public void addScalar(double[] xs, double[] out, int from, int to, double c) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, xs, i).add(c).intoArray(out, i);
+        }
+        if (i < to) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, to);
+            DoubleVector.fromArray(SPECIES, xs, i, mask).add(c).intoArray(out, i, mask);
+        }
+    }
+
+    @Override
+    public void mulScalar(double[] xs, double[] out, int from, int to, double c) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, xs, i).mul(c).intoArray(out, i);
+        }
+        if (i < to) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, to);
+            DoubleVector.fromArray(SPECIES, xs, i, mask).mul(c).intoArray(out, i, mask);
+        }
+    }
+
+    @Override
+    public void divScalar(double[] xs, double[] out, int from, int to, double c) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, xs, i).div(c).intoArray(out, i);
+        }
+        if (i < to) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, to);
+            DoubleVector.fromArray(SPECIES, xs, i, mask).div(c).intoArray(out, i, mask);
+        }
+    }
+}